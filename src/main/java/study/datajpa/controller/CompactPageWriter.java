@@ -0,0 +1,47 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.MemberDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Function;
+
+@Component
+public class CompactPageWriter {
+    //Page를 그대로 직렬화하면 pageable, sort 메타데이터까지 리플렉션으로 매번 내려간다.
+    //content + 최소한의 페이징 정보만 JsonGenerator로 바로 쓴다.
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter memberDtoWriter; // MemberDto 직렬화기는 한번만 찾아둔다
+
+    public CompactPageWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.memberDtoWriter = objectMapper.writerFor(MemberDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T> void write(Page<T> page, Function<? super T, MemberDto> mapper, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        for (T row : page.getContent()) {
+            memberDtoWriter.writeValue(generator, mapper.apply(row)); // 매핑하면서 바로 쓴다
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("page", page.getNumber());
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+        generator.writeNumberField("totalPages", page.getTotalPages());
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -0,0 +1,155 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.web.FetchPlan;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/statistics/hibernate")
+@FetchPlan
+public class HibernateStatisticsController {
+    //datajpa.persistence-metrics.enabled: true 일 때 값이 쌓인다 (hibernate.generate_statistics)
+
+    private final EntityManagerFactory emf;
+
+    @GetMapping
+    public Map<String, Object> global() {
+        Statistics statistics = statistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("startTime", statistics.getStartTime());
+        result.put("sessionOpenCount", statistics.getSessionOpenCount());
+        result.put("connectCount", statistics.getConnectCount());
+        result.put("prepareStatementCount", statistics.getPrepareStatementCount());
+        result.put("transactionCount", statistics.getTransactionCount());
+        result.put("flushCount", statistics.getFlushCount());
+        result.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+        result.put("queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("entityLoadCount", statistics.getEntityLoadCount());
+        result.put("entityFetchCount", statistics.getEntityFetchCount());
+        result.put("entityInsertCount", statistics.getEntityInsertCount());
+        result.put("entityUpdateCount", statistics.getEntityUpdateCount());
+        result.put("entityDeleteCount", statistics.getEntityDeleteCount());
+        result.put("collectionLoadCount", statistics.getCollectionLoadCount());
+        result.put("collectionFetchCount", statistics.getCollectionFetchCount());
+        result.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        result.put("queryCacheHitCount", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMissCount", statistics.getQueryCacheMissCount());
+        result.put("entityNames", statistics.getEntityNames());
+        result.put("collectionRoleNames", statistics.getCollectionRoleNames());
+        return result;
+    }
+
+    @GetMapping("/entities")
+    public Map<String, Object> entity(@RequestParam("name") String entityName) {
+        Statistics statistics = statistics();
+        checkName(statistics.getEntityNames(), entityName);
+        EntityStatistics entity = statistics.getEntityStatistics(entityName);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", entityName);
+        result.put("loadCount", entity.getLoadCount());
+        result.put("fetchCount", entity.getFetchCount());
+        result.put("insertCount", entity.getInsertCount());
+        result.put("updateCount", entity.getUpdateCount());
+        result.put("deleteCount", entity.getDeleteCount());
+        result.put("optimisticFailureCount", entity.getOptimisticFailureCount());
+        return result;
+    }
+
+    @GetMapping("/collections")
+    public Map<String, Object> collection(@RequestParam("role") String role) {
+        Statistics statistics = statistics();
+        checkName(statistics.getCollectionRoleNames(), role);
+        CollectionStatistics collection = statistics.getCollectionStatistics(role);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("role", role);
+        result.put("loadCount", collection.getLoadCount());
+        result.put("fetchCount", collection.getFetchCount());
+        result.put("recreateCount", collection.getRecreateCount());
+        result.put("updateCount", collection.getUpdateCount());
+        result.put("removeCount", collection.getRemoveCount());
+        return result;
+    }
+
+    @GetMapping("/queries")
+    public List<Map<String, Object>> queries() {
+        Statistics statistics = statistics();
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> query(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparing((Map<String, Object> query) -> (Long) query.get("executionCount")).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/cache-regions")
+    public List<Map<String, Object>> cacheRegions() {
+        Statistics statistics = statistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(regionName -> cacheRegion(regionName, statistics.getCacheRegionStatistics(regionName)))
+                .collect(Collectors.toList());
+    }
+
+    @PostMapping("/clear")
+    public void clear() {
+        statistics().clear();
+    }
+
+    private Map<String, Object> query(String query, QueryStatistics queryStatistics) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", query);
+        result.put("executionCount", queryStatistics.getExecutionCount());
+        result.put("executionRowCount", queryStatistics.getExecutionRowCount());
+        result.put("executionAvgTime", queryStatistics.getExecutionAvgTime());
+        result.put("executionMaxTime", queryStatistics.getExecutionMaxTime());
+        result.put("executionMinTime", queryStatistics.getExecutionMinTime());
+        result.put("cacheHitCount", queryStatistics.getCacheHitCount());
+        result.put("cacheMissCount", queryStatistics.getCacheMissCount());
+        result.put("cachePutCount", queryStatistics.getCachePutCount());
+        return result;
+    }
+
+    private Map<String, Object> cacheRegion(String regionName, CacheRegionStatistics region) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("region", regionName);
+        if (region == null) {
+            return result;
+        }
+        long hitCount = region.getHitCount();
+        long missCount = region.getMissCount();
+        result.put("hitCount", hitCount);
+        result.put("missCount", missCount);
+        result.put("putCount", region.getPutCount());
+        result.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        result.put("elementCountInMemory", region.getElementCountInMemory());
+        return result;
+    }
+
+    private void checkName(String[] names, String name) {
+        if (!Arrays.asList(names).contains(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown name: " + name);
+        }
+    }
+
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
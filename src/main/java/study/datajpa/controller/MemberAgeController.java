@@ -0,0 +1,43 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberAgeIndexService;
+import study.datajpa.web.FetchPlan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberAgeController {
+
+    private final MemberRepository memberRepository;
+    private final ObjectProvider<MemberAgeIndexService> memberAgeIndexService;
+
+    /**
+     * 나이 -> 회원 수 (0 이상, 회원이 있는 나이만)
+     */
+    @GetMapping("/members/ages")
+    @FetchPlan // 엔티티를 로딩하지 않음
+    public Map<Integer, Long> ageHistogram() {
+        MemberAgeIndexService indexService = memberAgeIndexService.getIfAvailable();
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        if (indexService != null && indexService.isReady()) { // 커밋된 변경까지 반영된 인메모리 인덱스
+            int[] histogram = indexService.histogram();
+            for (int age = 0; age < histogram.length; age++) {
+                if (histogram[age] > 0) {
+                    result.put(age, (long) histogram[age]);
+                }
+            }
+            return result;
+        }
+        for (Object[] row : memberRepository.countGroupByAge()) {
+            result.put((Integer) row[0], (Long) row[1]);
+        }
+        return result;
+    }
+}
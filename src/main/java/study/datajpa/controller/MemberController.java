@@ -4,39 +4,120 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.MemberBatchDto;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberLookupService;
+import study.datajpa.service.TeamBatchLoader;
+import study.datajpa.web.FetchPlan;
+import study.datajpa.web.PagingPolicy;
+import study.datajpa.web.SortKey;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_BATCH_IDS = 1000;
+
+    //GET /members 는 ids, username, format 중 하나만 받는다. 섞어서 보내면 맞는 핸들러가 없어 400
+
     private final MemberRepository memberRepository;
+    private final CompactPageWriter compactPageWriter;
+    private final TeamBatchLoader teamBatchLoader;
+    private final MemberLookupService memberLookupService;
 
     @GetMapping("/members/{id}")
+    @FetchPlan
     public String findMember(@PathVariable("id") Long id) {
         Member member = memberRepository.findById(id).get();
         return member.getUsername();
     }
 
     @GetMapping("/members2/{id}")
+    @FetchPlan // OSIV를 끄면 컨버터의 findById 트랜잭션이 끝날 때 커넥션을 반납한다
     public String findMember2(@PathVariable("id") Member member) { //도메인 클래스 컨버터 작동
         return member.getUsername();
     }
 
-    @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username") Pageable pageable) {
+    @GetMapping(value = "/members", params = {"ids", "!username", "!format"}) // /members?ids=1,2,3
+    @FetchPlan // 회원은 청크 단위 in 쿼리, 팀은 TeamBatchLoader로 한번에 조회
+    public MemberBatchDto findMembers(@RequestParam("ids") List<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids size must be between 1 and " + MAX_BATCH_IDS);
+        }
+        List<Member> members = memberRepository.findAllInOrder(distinctIds);
+
+        List<Member> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i++) {
+            if (members.get(i) == null) {
+                missingIds.add(distinctIds.get(i));
+            } else {
+                found.add(members.get(i));
+            }
+        }
+        teamBatchLoader.prime(found);
+        List<MemberDto> dtos = found.stream().map(this::toDto).collect(Collectors.toList());
+        return new MemberBatchDto(dtos, missingIds);
+    }
+
+    @GetMapping(value = "/members", params = {"username", "!ids", "!format"})
+    @FetchPlan // 스냅샷 인덱스가 있으면 id로, 없으면 username 쿼리로 조회
+    public List<MemberDto> findByUsername(@RequestParam("username") String username) {
+        List<Member> members = memberLookupService.findByUsername(username);
+        teamBatchLoader.prime(members);
+        return members.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
+    @GetMapping(value = "/members", params = {"!ids", "!username", "!format"})
+    @FetchPlan // 팀은 TeamBatchLoader로 따로 조회
+    public Page<MemberDto> list(@PageableDefault(size = 5, sort = "username")
+                                @PagingPolicy(maxSize = 100, sorts = {
+                                        @SortKey(name = "id"),
+                                        @SortKey(name = "username"),
+                                        @SortKey(name = "createdDate")
+                                }) Pageable pageable) {
         Page<Member> page = memberRepository.findAll(pageable);//Pageable이 들어가면 요청파라미터에 의해 페이지 사이즈, 정렬 등을 사용 할 수 있음
-        Page<MemberDto> map = page.map(member -> new MemberDto(member.getId(), member.getUsername(), null));
+        teamBatchLoader.prime(page.getContent()); // 팀은 페이지당 한번만 조회
+        Page<MemberDto> map = page.map(this::toDto);
         return map;
     }
 
+    @GetMapping(value = "/members", params = {"format=compact", "!ids", "!username"}) // ?format=compact 로 요청하면 압축된 페이지 포맷으로 응답
+    @FetchPlan
+    public void listCompact(@PageableDefault(size = 5, sort = "username")
+                            @PagingPolicy(maxSize = 1000, sorts = {
+                                    @SortKey(name = "id"),
+                                    @SortKey(name = "username")
+                            }, onViolation = PagingPolicy.Violation.REWRITE) Pageable pageable,
+                            HttpServletResponse response) throws IOException {
+        Page<Member> page = memberRepository.findAll(pageable);
+        teamBatchLoader.prime(page.getContent());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        compactPageWriter.write(page, this::toDto, response.getOutputStream());
+    }
+
+    private MemberDto toDto(Member member) {
+        return new MemberDto(member.getId(), member.getUsername(), teamBatchLoader.getTeamName(member));
+    }
+
     @PostConstruct
     public void init() {
         memberRepository.save(new Member("userA"));
@@ -0,0 +1,48 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.reactive.MemberReactiveRepository;
+import study.datajpa.web.FetchPlan;
+
+@RestController
+@RequiredArgsConstructor
+public class ReactiveMemberController {
+    //요청 스레드는 구독만 하고 반환된다. ndjson은 한 건씩 요청(request(1))하며 쓰므로 클라이언트가 느리면 DB 읽기도 늦춰진다
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final MemberReactiveRepository memberReactiveRepository;
+
+    @GetMapping(value = "/reactive/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @FetchPlan // JPA를 거치지 않음
+    public Flux<MemberDto> list(@RequestParam(defaultValue = "0") long afterId,
+                                @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        return memberReactiveRepository.findAll(afterId, limit);
+    }
+
+    @GetMapping(value = "/reactive/teams/{teamId}/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @FetchPlan
+    public Flux<MemberDto> listByTeam(@PathVariable("teamId") long teamId) {
+        return memberReactiveRepository.findByTeamId(teamId);
+    }
+
+    @GetMapping("/reactive/members/{id}")
+    @FetchPlan
+    public Mono<MemberDto> findMember(@PathVariable("id") long id) {
+        return memberReactiveRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+}
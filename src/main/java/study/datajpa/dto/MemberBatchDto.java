@@ -0,0 +1,16 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MemberBatchDto {
+    private List<MemberDto> members; // 요청한 id 순서
+    private List<Long> missingIds;
+
+    public MemberBatchDto(List<MemberDto> members, List<Long> missingIds) {
+        this.members = members;
+        this.missingIds = missingIds;
+    }
+}
@@ -1,6 +1,11 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.proxy.HibernateProxy;
 
 import javax.persistence.*;
 
@@ -13,9 +18,21 @@ import javax.persistence.*;
         query = "select m from Member m where m.username = :username"
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@EntityListeners({TeamStatisticsListener.class, OutboxEntityListener.class, MemberAgeIndexListener.class})
+@Table(indexes = {
+        @Index(name = "idx_member_created_date", columnList = "created_date"), // 아카이빙 대상 조회
+        @Index(name = "idx_member_username", columnList = "username") // 조회, 정렬
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Member.CACHE_REGION) // 쿼리 캐시는 id만 담으므로 엔티티도 캐시
 public class Member extends BaseEntity{
 
-    @Id @GeneratedValue
+    public static final String CACHE_REGION = "study.datajpa.entity.Member";
+    public static final String USERNAME_QUERY_CACHE_REGION = "member-by-username";
+
+    @Id @GeneratedValue(generator = "member_seq")
+    @GenericGenerator(name = "member_seq", strategy = "study.datajpa.entity.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "member_seq"))
     @Column(name = "meber_id")
     private Long id;
     private String username;
@@ -25,6 +42,18 @@ public class Member extends BaseEntity{
     @JoinColumn(name = "team_id")
     private Team team;
 
+    //팀 통계 반영용 스냅샷 (로딩/저장 시점의 팀, 나이)
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private Long loadedTeamId;
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private int loadedAge;
+    //outbox 이벤트 구분용 스냅샷 (username이 바뀐 수정만 KEY_CHANGED)
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String loadedUsername;
+
     public Member(String username) {
         this.username = username;
     }
@@ -47,4 +76,36 @@ public class Member extends BaseEntity{
         this.team = team;
         team.getMembers().add(this);
     }
+
+    //프록시를 초기화하지 않고 팀 id만 꺼낸다
+    public Long getTeamId() {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return team.getId();
+    }
+
+    void snapshotStatistics() {
+        this.loadedTeamId = getTeamId();
+        this.loadedAge = age;
+    }
+
+    void snapshotUsername() {
+        this.loadedUsername = username;
+    }
+
+    String getLoadedUsername() {
+        return loadedUsername;
+    }
+
+    Long getLoadedTeamId() {
+        return loadedTeamId;
+    }
+
+    int getLoadedAge() {
+        return loadedAge;
+    }
 }
@@ -0,0 +1,29 @@
+package study.datajpa.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.service.MemberAgeIndexService;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+public class MemberAgeIndexListener {
+    //datajpa.age-index.enabled 일 때만 MemberAgeIndexService가 있다
+
+    private final ObjectProvider<MemberAgeIndexService> memberAgeIndexService;
+
+    public MemberAgeIndexListener(ObjectProvider<MemberAgeIndexService> memberAgeIndexService) {
+        this.memberAgeIndexService = memberAgeIndexService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void postSave(Member member) {
+        memberAgeIndexService.ifAvailable(service -> service.memberSaved(member.getId(), member.getAge()));
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        memberAgeIndexService.ifAvailable(service -> service.memberRemoved(member.getId()));
+    }
+}
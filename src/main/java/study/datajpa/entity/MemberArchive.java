@@ -0,0 +1,32 @@
+package study.datajpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable // MemberArchiveService가 insert-select로만 채운다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "username", "age", "archivedDate"})
+public class MemberArchive {
+
+    @Id
+    @Column(name = "meber_id")
+    private Long id;
+    private String username;
+    private int age;
+    private Long teamId;
+    private LocalDateTime createdDate;
+    private LocalDateTime lastModifiedDate;
+    private String createdBy;
+    private String lastModifiedBy;
+    private LocalDateTime archivedDate;
+}
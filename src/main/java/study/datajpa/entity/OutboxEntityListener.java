@@ -0,0 +1,60 @@
+package study.datajpa.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.outbox.EntityChangeType;
+import study.datajpa.outbox.OutboxRecorder;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.Objects;
+
+public class OutboxEntityListener {
+    //Member, Team 변경을 같은 트랜잭션에서 outbox_event에 기록 (다른 노드의 캐시 무효화용)
+    //회원 수정은 username이 바뀐 경우만 KEY_CHANGED로 남겨 다른 노드가 username 쿼리 캐시를 비우게 한다
+
+    private final ObjectProvider<OutboxRecorder> outboxRecorder;
+
+    public OutboxEntityListener(ObjectProvider<OutboxRecorder> outboxRecorder) {
+        this.outboxRecorder = outboxRecorder;
+    }
+
+    @PostLoad
+    public void postLoad(Object entity) {
+        if (entity instanceof Member) {
+            ((Member) entity).snapshotUsername();
+        }
+    }
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        record(entity, EntityChangeType.CREATED);
+        postLoad(entity);
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            boolean usernameChanged = !Objects.equals(member.getLoadedUsername(), member.getUsername());
+            record(member, usernameChanged ? EntityChangeType.KEY_CHANGED : EntityChangeType.UPDATED);
+            member.snapshotUsername();
+        } else {
+            record(entity, EntityChangeType.UPDATED);
+        }
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        record(entity, EntityChangeType.DELETED);
+    }
+
+    private void record(Object entity, EntityChangeType type) {
+        if (entity instanceof Member) {
+            outboxRecorder.getObject().record("Member", ((Member) entity).getId(), type);
+        } else if (entity instanceof Team) {
+            outboxRecorder.getObject().record("Team", ((Team) entity).getId(), type);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 엔티티별 시퀀스 + pooled/pooled-lo 옵티마이저.
+ * 할당 크기와 옵티마이저는 spring.jpa.properties.datajpa.id.* 로 설정한다.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String INCREMENT_SIZE_SETTING = "datajpa.id.increment_size";
+    public static final String OPTIMIZER_SETTING = "datajpa.id.optimizer";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        if (params.getProperty(INCREMENT_PARAM) == null) {
+            params.setProperty(INCREMENT_PARAM,
+                    configuration.getSetting(INCREMENT_SIZE_SETTING, StandardConverters.STRING, "50"));
+        }
+        if (params.getProperty(OPT_PARAM) == null) {
+            params.setProperty(OPT_PARAM,
+                    configuration.getSetting(OPTIMIZER_SETTING, StandardConverters.STRING, "pooled-lo"));
+        }
+        super.configure(type, params, serviceRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+import study.datajpa.service.TeamStatisticsService;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.Objects;
+
+public class TeamStatisticsListener {
+    //스프링이 생성하는 엔티티 리스너 (SpringBeanContainer), 서비스는 EntityManagerFactory 초기화 이후에 꺼낸다
+
+    private final ObjectProvider<TeamStatisticsService> teamStatisticsService;
+
+    public TeamStatisticsListener(ObjectProvider<TeamStatisticsService> teamStatisticsService) {
+        this.teamStatisticsService = teamStatisticsService;
+    }
+
+    @PostLoad
+    public void postLoad(Member member) {
+        member.snapshotStatistics();
+    }
+
+    @PostPersist
+    public void postPersist(Member member) {
+        teamStatisticsService.getObject().memberAdded(member.getTeamId(), member.getAge());
+        member.snapshotStatistics();
+    }
+
+    @PostUpdate
+    public void postUpdate(Member member) {
+        Long teamId = member.getTeamId();
+        if (!Objects.equals(member.getLoadedTeamId(), teamId) || member.getLoadedAge() != member.getAge()) {
+            TeamStatisticsService service = teamStatisticsService.getObject();
+            service.memberRemoved(member.getLoadedTeamId(), member.getLoadedAge());
+            service.memberAdded(teamId, member.getAge());
+        }
+        member.snapshotStatistics();
+    }
+
+    @PostRemove
+    public void postRemove(Member member) {
+        teamStatisticsService.getObject().memberRemoved(member.getLoadedTeamId(), member.getLoadedAge());
+    }
+}
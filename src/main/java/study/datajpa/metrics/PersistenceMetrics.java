@@ -0,0 +1,83 @@
+package study.datajpa.metrics;
+
+import lombok.Getter;
+
+@Getter
+public class PersistenceMetrics {
+    //요청 하나 동안의 영속성 지표, 요청 스레드에 묶어둔다
+
+    private static final ThreadLocal<PersistenceMetrics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entitiesLoaded;
+    private long proxiesInitialized;
+    private long collectionsInitialized;
+    private long flushes;
+    private long flushNanos;
+    private long connectionAcquisitions;
+    private long connectionHoldNanos;
+
+    public static PersistenceMetrics start() {
+        PersistenceMetrics metrics = new PersistenceMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    public static PersistenceMetrics current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public long getLazyLoads() {
+        return proxiesInitialized + collectionsInitialized;
+    }
+
+    public long getFlushMillis() {
+        return flushNanos / 1_000_000;
+    }
+
+    public long getConnectionHoldMillis() {
+        return connectionHoldNanos / 1_000_000;
+    }
+
+    void statementExecuted() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void proxyInitialized() {
+        proxiesInitialized++;
+    }
+
+    void collectionInitialized() {
+        collectionsInitialized++;
+    }
+
+    void flushed(long nanos) {
+        flushes++;
+        flushNanos += nanos;
+    }
+
+    void connectionReleased(long holdNanos) {
+        connectionAcquisitions++;
+        connectionHoldNanos += holdNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + statements +
+                ", entitiesLoaded=" + entitiesLoaded +
+                ", proxiesInitialized=" + proxiesInitialized +
+                ", collectionsInitialized=" + collectionsInitialized +
+                ", flushes=" + flushes +
+                ", flushMillis=" + getFlushMillis() +
+                ", connectionAcquisitions=" + connectionAcquisitions +
+                ", connectionHoldMillis=" + getConnectionHoldMillis();
+    }
+}
@@ -0,0 +1,60 @@
+package study.datajpa.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PersistenceMetricsProperties.class)
+public class PersistenceMetricsConfig {
+
+    private final EntityManagerFactory emf;
+
+    @PostConstruct
+    public void registerEventListeners() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        PersistenceMetricsEventListener listener = new PersistenceMetricsEventListener();
+        registry.appendListeners(EventType.POST_LOAD, listener);
+        registry.appendListeners(EventType.LOAD, listener);
+        registry.appendListeners(EventType.INIT_COLLECTION, listener);
+    }
+
+    //세션마다 리스너를 만들고 통계를 쌓는 비용이 있어 켰을 때만 설정한다 (EntityManagerFactory보다 먼저 필요해서 static)
+    @Bean
+    @ConditionalOnProperty(prefix = "datajpa.persistence-metrics", name = "enabled", havingValue = "true")
+    public static HibernatePropertiesCustomizer persistenceMetricsHibernateProperties() {
+        return properties -> properties.putAll(Map.of(
+                "hibernate.generate_statistics", "true", // /statistics/hibernate
+                "hibernate.session.events.auto", PersistenceMetricsSessionListener.class.getName()));
+    }
+
+    //p6spy 스타터가 JdbcEventListener 빈을 DataSource 데코레이터에 등록한다 (DataSource보다 먼저 필요해서 static)
+    @Bean
+    @ConditionalOnProperty(prefix = "datajpa.persistence-metrics", name = "enabled", havingValue = "true")
+    public static PersistenceMetricsStatementListener persistenceMetricsStatementListener() {
+        return new PersistenceMetricsStatementListener();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "datajpa.persistence-metrics", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<PersistenceMetricsFilter> persistenceMetricsFilter(PersistenceMetricsProperties properties) {
+        FilterRegistrationBean<PersistenceMetricsFilter> registration =
+                new FilterRegistrationBean<>(new PersistenceMetricsFilter(properties));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.metrics;
+
+import org.hibernate.event.spi.*;
+
+public class PersistenceMetricsEventListener implements PostLoadEventListener, LoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null) {
+            metrics.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null && loadType == LoadEventListener.IMMEDIATE_LOAD) { // 프록시 초기화
+            metrics.proxyInitialized();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null) {
+            metrics.collectionInitialized();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.metrics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class PersistenceMetricsFilter extends OncePerRequestFilter {
+
+    private final PersistenceMetricsProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        //리액티브 조회는 JPA를 거치지 않고, 스트리밍 응답이라 ContentCachingResponseWrapper로 감싸면 안 된다
+        return request.getRequestURI().startsWith(request.getContextPath() + "/reactive/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PersistenceMetrics metrics = PersistenceMetrics.start();
+        //OSIV면 세션이 DispatcherServlet 안에서 닫히므로 체인이 끝나면 직렬화 중 지연 로딩까지 집계된다
+        ContentCachingResponseWrapper wrapper = properties.isHeaders() ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            PersistenceMetrics.clear();
+            report(request, metrics);
+            if (wrapper != null) {
+                writeHeaders(wrapper, metrics);
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, PersistenceMetrics metrics) {
+        PersistenceMetricsProperties.Budget budget = properties.getBudget();
+        boolean exceeded = metrics.getStatements() > budget.getStatements()
+                || metrics.getEntitiesLoaded() > budget.getEntitiesLoaded()
+                || metrics.getLazyLoads() > budget.getLazyLoads()
+                || metrics.getFlushMillis() > budget.getFlushTime().toMillis()
+                || metrics.getConnectionHoldMillis() > budget.getConnectionHoldTime().toMillis();
+        if (exceeded) {
+            log.warn("persistence budget exceeded. {} {} [{}]", request.getMethod(), request.getRequestURI(), metrics);
+        } else {
+            log.debug("persistence metrics. {} {} [{}]", request.getMethod(), request.getRequestURI(), metrics);
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, PersistenceMetrics metrics) {
+        response.setHeader("X-Persistence-Statements", String.valueOf(metrics.getStatements()));
+        response.setHeader("X-Persistence-Entities-Loaded", String.valueOf(metrics.getEntitiesLoaded()));
+        response.setHeader("X-Persistence-Lazy-Loads", String.valueOf(metrics.getLazyLoads()));
+        response.setHeader("X-Persistence-Flush-Ms", String.valueOf(metrics.getFlushMillis()));
+        response.setHeader("X-Persistence-Connection-Hold-Ms", String.valueOf(metrics.getConnectionHoldMillis()));
+    }
+}
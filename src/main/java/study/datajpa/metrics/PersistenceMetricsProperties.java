@@ -0,0 +1,25 @@
+package study.datajpa.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties("datajpa.persistence-metrics")
+public class PersistenceMetricsProperties {
+
+    private boolean enabled = false;
+    private boolean headers = false; // 응답 헤더로도 내려준다 (응답 바디를 버퍼링한다)
+    private Budget budget = new Budget();
+
+    @Getter @Setter
+    public static class Budget {
+        private long statements = 20;
+        private long entitiesLoaded = 500;
+        private long lazyLoads = 10;
+        private Duration flushTime = Duration.ofMillis(100);
+        private Duration connectionHoldTime = Duration.ofMillis(200);
+    }
+}
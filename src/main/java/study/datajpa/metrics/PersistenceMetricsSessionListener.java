@@ -0,0 +1,53 @@
+package study.datajpa.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class PersistenceMetricsSessionListener extends BaseSessionEventListener {
+    //hibernate.session.events.auto 로 세션마다 생성된다
+    //실행 문장 수는 JdbcTemplate 쿼리까지 세도록 JDBC 계층(PersistenceMetricsStatementListener)에서 센다
+
+    private long flushStart;
+    private long connectionAcquired = -1;
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connectionAcquired = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionReleaseStart() {
+        //OSIV면 커넥션이 뷰 렌더링/JSON 직렬화가 끝날 때까지 잡혀 있다
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null && connectionAcquired >= 0) {
+            metrics.connectionReleased(System.nanoTime() - connectionAcquired);
+        }
+        connectionAcquired = -1;
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushEnded();
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        flushEnded();
+    }
+
+    private void flushEnded() {
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null) {
+            metrics.flushed(System.nanoTime() - flushStart);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.metrics;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import java.sql.SQLException;
+
+public class PersistenceMetricsStatementListener extends SimpleJdbcEventListener {
+    //p6spy가 감싼 DataSource에서 실행되는 모든 문장을 센다 (JPA, JdbcTemplate, 리스너/커밋 직전 처리 포함)
+    //배치는 executeBatch 한번을 한 문장으로 센다
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        PersistenceMetrics metrics = PersistenceMetrics.current();
+        if (metrics != null) {
+            metrics.statementExecuted();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package study.datajpa.outbox;
+
+import java.util.List;
+
+public interface CacheInvalidationSubscriber {
+    void onInvalidate(List<EntityChangeEvent> events);
+}
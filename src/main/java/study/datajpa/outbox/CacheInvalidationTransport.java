@@ -0,0 +1,8 @@
+package study.datajpa.outbox;
+
+import java.util.List;
+
+public interface CacheInvalidationTransport {
+    //OutboxPublisher가 읽은 이 노드 몫의 이벤트를 구독자에게 넘긴다. 실패하면 예외를 던져 다음 폴링에서 다시 보낸다.
+    void publish(List<EntityChangeEvent> events);
+}
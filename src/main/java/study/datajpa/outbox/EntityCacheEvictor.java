@@ -0,0 +1,54 @@
+package study.datajpa.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor implements CacheInvalidationSubscriber {
+    //다른 노드가 커밋한 변경을 이 노드의 2차 캐시에서 내린다 (이 노드의 변경은 Hibernate가 이미 반영했다).
+    //쿼리 캐시와 update timestamps 리전도 노드마다 로컬이라 다른 노드의 저장/삭제를 모르므로
+    //username -> id 결과가 바뀌는 회원 변경(저장, 삭제, username 수정)이 오면 username 쿼리 리전도 비운다.
+
+    private final EntityManagerFactory emf;
+    private final OutboxConsumerRegistry consumerRegistry;
+
+    @Override
+    public void onInvalidate(List<EntityChangeEvent> events) {
+        Cache cache = emf.getCache();
+        boolean usernameChanged = false;
+        for (EntityChangeEvent event : events) {
+            if (consumerRegistry.getNodeId().equals(event.getOriginNodeId())) {
+                continue;
+            }
+            usernameChanged |= "Member".equals(event.getAggregateType()) && event.getType().changesLookupKey();
+            Class<?> entityClass = entityClass(event.getAggregateType());
+            if (entityClass == null) {
+                continue;
+            }
+            if (event.getAggregateId() == null) {
+                cache.evict(entityClass);
+            } else {
+                cache.evict(entityClass, event.getAggregateId());
+            }
+        }
+        if (usernameChanged) {
+            emf.unwrap(SessionFactory.class).getCache().evictQueryRegion(Member.USERNAME_QUERY_CACHE_REGION);
+        }
+    }
+
+    private Class<?> entityClass(String entityName) {
+        return emf.getMetamodel().getEntities().stream()
+                .filter(entityType -> entityType.getName().equals(entityName))
+                .map(EntityType::getJavaType)
+                .findFirst()
+                .orElse(null);
+    }
+}
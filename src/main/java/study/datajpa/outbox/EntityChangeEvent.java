@@ -0,0 +1,16 @@
+package study.datajpa.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class EntityChangeEvent {
+    private final Long id; // outbox_event id
+    private final String aggregateType; // 엔티티 이름 (Member, Team)
+    private final Long aggregateId; // null 이면 해당 엔티티 전체 (벌크 연산)
+    private final EntityChangeType type;
+    private final String originNodeId; // 변경을 커밋한 노드
+}
@@ -0,0 +1,12 @@
+package study.datajpa.outbox;
+
+public enum EntityChangeType {
+    CREATED, UPDATED, DELETED, BULK_UPDATED,
+    KEY_CHANGED; // 조회 키(Member.username)가 바뀐 수정
+
+    //조회 키 -> id 결과(username 쿼리 캐시, username 인덱스)를 바꿀 수 있는 변경인지
+    //벌크 연산은 나이만 바꾸므로 해당하지 않는다
+    public boolean changesLookupKey() {
+        return this == CREATED || this == DELETED || this == KEY_CHANGED;
+    }
+}
@@ -0,0 +1,20 @@
+package study.datajpa.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidationTransport implements CacheInvalidationTransport {
+    //노드 간 전달은 outbox_event의 노드별 행(OutboxConsumer)이 맡고, 여기서는 이 노드 몫을 같은 JVM의 구독자에게 넘긴다
+
+    private final ObjectProvider<CacheInvalidationSubscriber> subscribers;
+
+    @Override
+    public void publish(List<EntityChangeEvent> events) {
+        subscribers.orderedStream().forEach(subscriber -> subscriber.onInvalidate(events));
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.outbox;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable // OutboxConsumerRegistry가 SQL로 쓰고 지운다
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxConsumer {
+    //outbox_event를 받아가는 노드. 이벤트는 기록 시점에 등록된 노드마다 한 행씩 쌓인다
+
+    @Id
+    private String nodeId;
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,50 @@
+package study.datajpa.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Slf4j
+@Component
+public class OutboxConsumerRegistry {
+    //노드마다 outbox_consumer 행을 하나 두고 폴링할 때마다 last_seen을 갱신한다.
+    //consumer-timeout 동안 갱신이 없는 노드는 내려간 것으로 보고 남은 이벤트와 함께 지운다.
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration consumerTimeout;
+
+    public OutboxConsumerRegistry(JdbcTemplate jdbcTemplate,
+                                  @Value("${datajpa.outbox.node-id:}") String nodeId,
+                                  @Value("${datajpa.outbox.consumer-timeout:5m}") Duration consumerTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString(); // 미지정이면 기동할 때마다 새 노드
+        this.consumerTimeout = consumerTimeout;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void heartbeat() {
+        jdbcTemplate.update("merge into outbox_consumer (node_id, last_seen) key (node_id) values (?, ?)",
+                nodeId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void expireStale() {
+        Timestamp before = Timestamp.valueOf(LocalDateTime.now().minus(consumerTimeout));
+        jdbcTemplate.update("delete from outbox_event where consumer_id in" +
+                " (select node_id from outbox_consumer where last_seen < ?)", before);
+        int expired = jdbcTemplate.update("delete from outbox_consumer where last_seen < ?", before);
+        if (expired > 0) {
+            log.info("expired outbox consumers. count={}", expired);
+        }
+    }
+}
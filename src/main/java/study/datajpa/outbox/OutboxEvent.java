@@ -0,0 +1,27 @@
+package study.datajpa.outbox;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable // OutboxRecorder, OutboxPublisher가 SQL로 쓰고 지운다
+@Table(indexes = @Index(name = "idx_outbox_event_consumer", columnList = "consumer_id, id")) // 노드별 폴링
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String consumerId; // OutboxConsumer.nodeId
+    private String aggregateType;
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    private EntityChangeType eventType;
+    private String originNodeId; // 변경을 커밋한 노드 (자기 변경은 무효화하지 않는다)
+    private LocalDateTime createdDate;
+}
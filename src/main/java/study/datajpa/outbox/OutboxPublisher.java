@@ -0,0 +1,77 @@
+package study.datajpa.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class OutboxPublisher {
+    //이 노드 몫의 outbox_event를 id 순으로 batch-size 만큼 읽어 전송하고, 보낸 이벤트만 지운다.
+    //다른 노드 몫의 행은 건드리지 않으므로 모든 노드가 같은 이벤트를 한번씩 받는다.
+    //전송이 실패하면 트랜잭션이 롤백되어 다음 폴링에서 다시 보낸다 (캐시 무효화라 중복 전송은 무해하다).
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationTransport transport;
+    private final OutboxConsumerRegistry consumerRegistry;
+    private final int batchSize;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           CacheInvalidationTransport transport,
+                           OutboxConsumerRegistry consumerRegistry,
+                           @Value("${datajpa.outbox.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.transport = transport;
+        this.consumerRegistry = consumerRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${datajpa.outbox.poll-interval:1000}")
+    public void publishPending() {
+        consumerRegistry.heartbeat(); // 첫 폴링에서 등록된다
+        consumerRegistry.expireStale();
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> publishBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    private int publishBatch() {
+        List<EntityChangeEvent> events = jdbcTemplate.query(
+                "select id, aggregate_type, aggregate_id, event_type, origin_node_id from outbox_event where consumer_id = ? order by id limit ?",
+                (rs, rowNum) -> {
+                    long aggregateId = rs.getLong("aggregate_id");
+                    return new EntityChangeEvent(
+                            rs.getLong("id"),
+                            rs.getString("aggregate_type"),
+                            rs.wasNull() ? null : aggregateId,
+                            EntityChangeType.valueOf(rs.getString("event_type")),
+                            rs.getString("origin_node_id"));
+                },
+                consumerRegistry.getNodeId(), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        transport.publish(events);
+
+        //늦게 커밋된 낮은 id가 있을 수 있으므로 범위가 아니라 보낸 id만 지운다
+        List<Long> ids = events.stream().map(EntityChangeEvent::getId).collect(Collectors.toList());
+        namedParameterJdbcTemplate.update("delete from outbox_event where id in (:ids)", Map.of("ids", ids));
+        log.debug("published outbox events. count={}", events.size());
+        return events.size();
+    }
+}
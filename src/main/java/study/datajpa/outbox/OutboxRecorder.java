@@ -0,0 +1,69 @@
+package study.datajpa.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+    //엔티티 변경을 outbox_event에 남긴다. 호출한 쪽의 트랜잭션(같은 커넥션)에 함께 커밋/롤백된다.
+    //등록된 노드(outbox_consumer)마다 한 행씩 남겨서 각 노드가 자기 몫을 따로 소비한다.
+    //트랜잭션 안에서는 모아두었다가 커밋 직전(flush 이후)에 batchUpdate 한번으로 쓴다 (flush 중 insert 배치를 끊지 않도록).
+
+    private static final String INSERT_EVENT = "insert into outbox_event (consumer_id, aggregate_type, aggregate_id, event_type, origin_node_id, created_date)" +
+            " select node_id, ?, ?, ?, ?, ? from outbox_consumer";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager em;
+    private final OutboxConsumerRegistry consumerRegistry;
+
+    public void record(String aggregateType, Long aggregateId, EntityChangeType type) {
+        Object[] event = {aggregateType, aggregateId, type.name(), consumerRegistry.getNodeId(), Timestamp.valueOf(LocalDateTime.now())};
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(INSERT_EVENT, event);
+            return;
+        }
+        currentEvents().add(event);
+    }
+
+    public void recordBulk(String aggregateType) {
+        record(aggregateType, null, EntityChangeType.BULK_UPDATED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> currentEvents() {
+        List<Object[]> events = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (events == null) {
+            List<Object[]> newEvents = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, newEvents);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxRecorder.this);
+                }
+            });
+            em.unwrap(EventSource.class).getActionQueue()
+                    .registerProcess((BeforeTransactionCompletionProcess) session -> write(newEvents));
+            events = newEvents;
+        }
+        return events;
+    }
+
+    private void write(List<Object[]> events) {
+        if (!events.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, events);
+            events.clear();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.reactive;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.datajpa.dto.MemberDto;
+
+@Repository
+@RequiredArgsConstructor
+public class MemberReactiveRepository {
+    //Member, Team 읽기 전용 논블로킹 조회 (엔티티/영속성 컨텍스트 없이 바로 MemberDto로 매핑)
+
+    private static final String SELECT_MEMBER_DTO =
+            "select m.meber_id, m.username, t.name as team_name from member m left join team t on t.tead_id = m.team_id";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * id 순 키셋 페이징. 다음 페이지는 마지막으로 받은 id를 afterId로 넘긴다
+     */
+    public Flux<MemberDto> findAll(long afterId, int limit) {
+        return databaseClient.sql(SELECT_MEMBER_DTO + " where m.meber_id > :afterId order by m.meber_id limit :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public Flux<MemberDto> findByTeamId(long teamId) {
+        return databaseClient.sql(SELECT_MEMBER_DTO + " where m.team_id = :teamId order by m.meber_id")
+                .bind("teamId", teamId)
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public Mono<MemberDto> findById(long id) {
+        return databaseClient.sql(SELECT_MEMBER_DTO + " where m.meber_id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    private MemberDto toDto(Row row) {
+        return new MemberDto(row.get("meber_id", Long.class), row.get("username", String.class), row.get("team_name", String.class));
+    }
+}
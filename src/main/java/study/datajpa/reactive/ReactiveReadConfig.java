@@ -0,0 +1,28 @@
+package study.datajpa.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveReadConfig {
+    //쓰기는 JPA(DataSource), 읽기 일부는 R2DBC(ConnectionFactory)로 나눠 쓴다
+    //ConnectionFactory 빈이 있으면 DataSourceAutoConfiguration이 빠지므로 JPA용 DataSource는 직접 등록한다
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -1,7 +1,12 @@
 package study.datajpa.repository;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Member;
+import study.datajpa.outbox.OutboxRecorder;
+import study.datajpa.service.MemberAgeIndexService;
+import study.datajpa.service.TeamStatisticsService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -9,11 +14,16 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final TeamStatisticsService teamStatisticsService;
+    private final OutboxRecorder outboxRecorder;
+    private final ObjectProvider<MemberAgeIndexService> memberAgeIndexService;
+
     public Member save(Member member) {
         em.persist(member);
         return member;
@@ -70,8 +80,12 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        int resultCount = em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
                 .setParameter("age", age)
                 .executeUpdate();
+        teamStatisticsService.agesIncreased(age);
+        outboxRecorder.recordBulk("Member");
+        memberAgeIndexService.ifAvailable(service -> service.agesIncreased(age));
+        return resultCount;
     }
 }
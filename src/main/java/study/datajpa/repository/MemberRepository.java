@@ -17,6 +17,10 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findTop3HelloBy();
 
     @Query(name = "Member.findByUsername")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = Member.USERNAME_QUERY_CACHE_REGION)
+    })
     List<Member> findByUsername(@Param("username") String username);
 
     @Query("select m from Member m where m.username = :username and m.age = :age")
@@ -32,14 +36,21 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findByNames(@Param("names") List<String> names);
 
     List<Member> findListByUsername(String username); // 컬렉션
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = Member.USERNAME_QUERY_CACHE_REGION)
+    })
     Member findMemberByUsername(String username); // 단건
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = Member.USERNAME_QUERY_CACHE_REGION)
+    })
     Optional<Member> findOptionalByUsername(String username);
 
     Page<Member> findByAge(int age, Pageable pageable);
 
-    @Modifying(clearAutomatically = true) // 벌크연산 후 영속성 컨텍스트 clear 해줌
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    @Query("select m.age, count(m) from Member m where m.age >= 0 group by m.age order by m.age")
+    List<Object[]> countGroupByAge(); // MemberAgeIndex가 없을 때 나이별 회원 수
 
     @Query("select m from Member m join fetch m.team")
     List<Member> findMemberFetchJoin();
@@ -56,6 +67,10 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @EntityGraph("Member.all")
     List<Member> findEntityGraphByUsername(@Param("username") String username);
 
-    @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = Member.USERNAME_QUERY_CACHE_REGION)
+    })
     Member findReadOnlyByUsername(String username);
 }
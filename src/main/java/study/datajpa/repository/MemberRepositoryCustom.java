@@ -6,4 +6,8 @@ import java.util.List;
 
 public interface MemberRepositoryCustom {
     List<Member> findMemberCustom();
+
+    int bulkAgePlus(int age); // 벌크연산 + 팀 통계 반영, 이후 영속성 컨텍스트 clear
+
+    List<Member> findAllInOrder(List<Long> ids); // ids 순서대로, 없는 id 자리는 null
 }
@@ -1,19 +1,85 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
+import study.datajpa.outbox.OutboxRecorder;
+import study.datajpa.service.MemberAgeIndexService;
+import study.datajpa.service.TeamStatisticsService;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
 
+    private static final int MULTI_LOAD_BATCH_SIZE = 100; // in 절 하나에 들어가는 id 수
+
     private final EntityManager em;
+    private final TeamStatisticsService teamStatisticsService;
+    private final OutboxRecorder outboxRecorder;
+    private final ObjectProvider<MemberAgeIndexService> memberAgeIndexService;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    public int bulkAgePlus(int age) {
+        em.flush();
+        int resultCount = em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+                .setParameter("age", age)
+                .executeUpdate();
+        teamStatisticsService.agesIncreased(age); // 벌크연산은 엔티티 리스너를 거치지 않는다
+        outboxRecorder.recordBulk("Member");
+        memberAgeIndexService.ifAvailable(service -> service.agesIncreased(age));
+        em.clear(); // 벌크연산 후 영속성 컨텍스트 clear 해줌
+        return resultCount;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Member> findAllInOrder(List<Long> ids) {
+        //2차 캐시에 있는 id는 find로 캐시에서 꺼내고, 나머지만 청크 단위 in 쿼리로 조회한다
+        //영속성 컨텍스트에 이미 있는 엔티티는 enableSessionCheck로 쿼리에서 빠진다
+        Cache cache = em.getEntityManagerFactory().getCache();
+        Set<Long> cachedIds = new HashSet<>();
+        Set<Long> idsToLoad = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (cache.contains(Member.class, id)) {
+                cachedIds.add(id);
+            } else {
+                idsToLoad.add(id);
+            }
+        }
+
+        Map<Long, Member> loaded = new HashMap<>();
+        if (!idsToLoad.isEmpty()) {
+            em.unwrap(Session.class)
+                    .byMultipleIds(Member.class)
+                    .withBatchSize(MULTI_LOAD_BATCH_SIZE)
+                    .enableSessionCheck(true)
+                    .multiLoad(new ArrayList<>(idsToLoad))
+                    .stream()
+                    .filter(member -> member != null) // 없는 id
+                    .forEach(member -> loaded.put(member.getId(), member));
+        }
+
+        List<Member> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(cachedIds.contains(id) ? em.find(Member.class, id) : loaded.get(id));
+        }
+        return result;
+    }
 }
@@ -0,0 +1,218 @@
+package study.datajpa.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class MemberAgeIndex {
+    //나이별 회원 id를 primitive 배열로 들고 있는 인메모리 읽기 모델 (Long/Integer 컬렉션 없음)
+    //idsByAge[age]에 id를 순서 없이 담고, slots에 id -> (age << 32 | 배열 위치)를 둬서 삭제/이동을 O(1)로 한다
+    //Member.age에는 제약이 없으므로 음수 나이는 버킷에 넣지 않고 outOfRange(id -> age)에만 둔다 (조회 결과에는 안 나온다)
+
+    private static final int INITIAL_BUCKET_SIZE = 8;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap slots;
+    private final LongLongHashMap outOfRange = new LongLongHashMap(16);
+    private long[][] idsByAge = new long[0][];
+    private int[] counts = new int[0];
+
+    public MemberAgeIndex() {
+        this(1024);
+    }
+
+    public MemberAgeIndex(int expectedSize) {
+        this.slots = new LongLongHashMap(expectedSize);
+    }
+
+    public void put(long id, int age) {
+        lock.writeLock().lock();
+        try {
+            long slot = slots.get(id, -1);
+            if (slot >= 0) {
+                if (ageOf(slot) == age) {
+                    return;
+                }
+                removeFromBucket(ageOf(slot), positionOf(slot));
+                slots.remove(id);
+            }
+            if (age < 0) {
+                outOfRange.put(id, age);
+                return;
+            }
+            outOfRange.remove(id);
+            addToBucket(id, age);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            long slot = slots.get(id, -1);
+            if (slot >= 0) {
+                removeFromBucket(ageOf(slot), positionOf(slot));
+                slots.remove(id);
+            }
+            outOfRange.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * bulkAgePlus와 같은 효과: age 이상인 회원의 나이를 1씩 올린다.
+     * 음수 나이(outOfRange)는 옮기지 않으므로 age < 0 이고 outOfRangeCount() > 0 이면 다시 적재해야 한다
+     */
+    public void incrementAgesFrom(int age) {
+        lock.writeLock().lock();
+        try {
+            int from = Math.max(age, 0);
+            if (from >= counts.length) {
+                return;
+            }
+            int top = counts.length - 1;
+            ensureCapacity(top + 1); // 맨 위 나이 + 1 자리
+            for (int current = top; current >= from; current--) { // 위에서부터 한칸씩 올린다
+                idsByAge[current + 1] = idsByAge[current];
+                counts[current + 1] = counts[current];
+                idsByAge[current] = null;
+                counts[current] = 0;
+                long[] ids = idsByAge[current + 1];
+                for (int position = 0; position < counts[current + 1]; position++) {
+                    slots.put(ids[position], slot(current + 1, position));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            outOfRange.clear();
+            idsByAge = new long[0][];
+            counts = new int[0];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int count(int age) {
+        lock.readLock().lock();
+        try {
+            return age >= 0 && age < counts.length ? counts[age] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countBetween(int fromInclusive, int toInclusive) {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (int age = Math.max(fromInclusive, 0); age <= toInclusive && age < counts.length; age++) {
+                total += counts[age];
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * histogram[age] = 해당 나이 회원 수
+     */
+    public int[] histogram() {
+        lock.readLock().lock();
+        try {
+            int maxAge = counts.length - 1;
+            while (maxAge >= 0 && counts[maxAge] == 0) {
+                maxAge--;
+            }
+            return Arrays.copyOf(counts, maxAge + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] ids(int age) {
+        lock.readLock().lock();
+        try {
+            if (age < 0 || age >= counts.length || counts[age] == 0) {
+                return new long[0];
+            }
+            return Arrays.copyOf(idsByAge[age], counts[age]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 음수 나이 회원 포함
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size() + outOfRange.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int outOfRangeCount() {
+        lock.readLock().lock();
+        try {
+            return outOfRange.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addToBucket(long id, int age) {
+        ensureCapacity(age);
+        long[] ids = idsByAge[age];
+        if (ids == null) {
+            ids = new long[INITIAL_BUCKET_SIZE];
+        } else if (counts[age] == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        idsByAge[age] = ids;
+        int position = counts[age]++;
+        ids[position] = id;
+        slots.put(id, slot(age, position));
+    }
+
+    private void removeFromBucket(int age, int position) {
+        long[] ids = idsByAge[age];
+        int last = --counts[age];
+        if (position != last) { // 마지막 원소를 빈 자리로 옮긴다
+            ids[position] = ids[last];
+            slots.put(ids[position], slot(age, position));
+        }
+    }
+
+    private void ensureCapacity(int age) {
+        if (age < counts.length) {
+            return;
+        }
+        int length = Math.max(age + 1, counts.length * 2);
+        idsByAge = Arrays.copyOf(idsByAge, length);
+        counts = Arrays.copyOf(counts, length);
+    }
+
+    private static long slot(int age, int position) {
+        return ((long) age << 32) | position;
+    }
+
+    private static int ageOf(long slot) {
+        return (int) (slot >>> 32);
+    }
+
+    private static int positionOf(long slot) {
+        return (int) slot;
+    }
+}
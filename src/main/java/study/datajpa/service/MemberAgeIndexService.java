@@ -0,0 +1,138 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "datajpa.age-index", name = "enabled", havingValue = "true")
+public class MemberAgeIndexService {
+    //나이별 회원 수/히스토그램/id 조회를 DB 없이 처리한다.
+    //변경은 트랜잭션 동안 모아두었다가 커밋된 경우에만 인덱스에 반영한다.
+    //반영에 실패했거나 재적재 중에 변경이 들어오면 dirty로 표시하고 verify에서 새 인덱스로 다시 적재한다.
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong appliedChanges = new AtomicLong();
+    private volatile MemberAgeIndex index = new MemberAgeIndex();
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            dirty = true; // 시작은 막지 않고 verify에서 다시 시도
+            log.error("failed to load member age index", e);
+        }
+    }
+
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        long changesBefore = appliedChanges.get();
+        MemberAgeIndex loaded = new MemberAgeIndex(64 * 1024);
+        jdbcTemplate.query("select meber_id, age from member",
+                (RowCallbackHandler) rs -> loaded.put(rs.getLong(1), rs.getInt(2)));
+        index = loaded;
+        ready = true;
+        dirty = appliedChanges.get() != changesBefore; // 적재 중 커밋된 변경은 이전 인덱스에 반영됐다
+        log.info("member age index loaded. members={}, outOfRange={}, {}ms",
+                loaded.size(), loaded.outOfRangeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${datajpa.age-index.verify-interval:PT10M}",
+            fixedDelayString = "${datajpa.age-index.verify-interval:PT10M}")
+    public void verify() {
+        Long memberCount = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        if (dirty || !ready || memberCount == null || memberCount != index.size()) {
+            log.warn("member age index drift. dirty={}, ready={}, db={}, index={}", dirty, ready, memberCount, index.size());
+            reload();
+        }
+    }
+
+    public boolean isReady() {
+        return ready && !dirty;
+    }
+
+    public void memberSaved(long id, int age) {
+        afterCommit(index -> index.put(id, age));
+    }
+
+    public void memberRemoved(long id) {
+        afterCommit(index -> index.remove(id));
+    }
+
+    public void agesIncreased(int age) {
+        afterCommit(index -> {
+            index.incrementAgesFrom(age);
+            if (age < 0 && index.outOfRangeCount() > 0) {
+                dirty = true; // 음수 나이 회원은 인덱스로 옮길 수 없다
+            }
+        });
+    }
+
+    public int count(int age) {
+        return index.count(age);
+    }
+
+    public long countBetween(int fromInclusive, int toInclusive) {
+        return index.countBetween(fromInclusive, toInclusive);
+    }
+
+    public int[] histogram() {
+        return index.histogram();
+    }
+
+    public long[] findIds(int age) {
+        return index.ids(age);
+    }
+
+    private void afterCommit(Consumer<MemberAgeIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Consumer<MemberAgeIndex>> pending = (List<Consumer<MemberAgeIndex>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Consumer<MemberAgeIndex>> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberAgeIndexService.this);
+                    if (status == STATUS_COMMITTED) {
+                        changes.forEach(MemberAgeIndexService.this::apply);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    private void apply(Consumer<MemberAgeIndex> change) {
+        appliedChanges.incrementAndGet();
+        try {
+            change.accept(index);
+        } catch (RuntimeException e) {
+            dirty = true; // 나머지 변경은 계속 반영하고 verify에서 다시 적재
+            log.warn("failed to apply member age index change", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package study.datajpa.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.outbox.OutboxConsumerRegistry;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class MemberArchiveService {
+    //createdDate가 기준 시각보다 오래된 회원을 member_archive로 옮긴다.
+    //엔티티를 로딩하지 않고 id 순 청크마다 insert-select + 벌크 delete를 한 트랜잭션으로 처리한다.
+    //옮긴 청크는 member에서 지워지므로 중간에 멈춰도 다시 실행하면 남은 청크부터 이어진다.
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory emf;
+    private final TeamStatisticsService teamStatisticsService;
+    private final ObjectProvider<MemberAgeIndexService> memberAgeIndexService;
+    private final OutboxConsumerRegistry consumerRegistry;
+    private final Duration retention;
+    private final int chunkSize;
+
+    public MemberArchiveService(JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                EntityManagerFactory emf,
+                                TeamStatisticsService teamStatisticsService,
+                                ObjectProvider<MemberAgeIndexService> memberAgeIndexService,
+                                OutboxConsumerRegistry consumerRegistry,
+                                @Value("${datajpa.archive.retention:365d}") Duration retention,
+                                @Value("${datajpa.archive.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.emf = emf;
+        this.teamStatisticsService = teamStatisticsService;
+        this.memberAgeIndexService = memberAgeIndexService;
+        this.consumerRegistry = consumerRegistry;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${datajpa.archive.cron:-}")
+    public void archiveExpired() {
+        archive(LocalDateTime.now().minus(retention));
+    }
+
+    public long archive(LocalDateTime cutoff) {
+        long archived = 0;
+        long lastId = 0;
+        while (true) {
+            long fromId = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> archiveChunk(cutoff, fromId));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            evictMemberCaches();
+            archived += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+        log.info("archived members. cutoff={}, count={}", cutoff, archived);
+        return archived;
+    }
+
+    private void evictMemberCaches() {
+        //JDBC로 지운 회원은 하이버네이트가 모르므로 2차 캐시와 쿼리 캐시를 직접 내린다
+        emf.getCache().evict(Member.class);
+        emf.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private List<Long> archiveChunk(LocalDateTime cutoff, long fromId) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select meber_id from member where meber_id > ? and created_date < ? order by meber_id limit ?",
+                Long.class, fromId, before, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        long toId = ids.get(ids.size() - 1);
+
+        List<Long> teamIds = jdbcTemplate.queryForList(
+                "select distinct team_id from member" +
+                        " where meber_id > ? and meber_id <= ? and created_date < ? and team_id is not null",
+                Long.class, fromId, toId, before);
+
+        jdbcTemplate.update("insert into member_archive" +
+                        " (meber_id, username, age, team_id, created_date, last_modified_date, created_by, last_modified_by, archived_date)" +
+                        " select meber_id, username, age, team_id, created_date, last_modified_date, created_by, last_modified_by, ?" +
+                        " from member where meber_id > ? and meber_id <= ? and created_date < ?",
+                Timestamp.valueOf(LocalDateTime.now()), fromId, toId, before);
+        jdbcTemplate.update("insert into outbox_event (consumer_id, aggregate_type, aggregate_id, event_type, origin_node_id, created_date)" +
+                        " select c.node_id, 'Member', m.meber_id, 'DELETED', ?, ? from member m cross join outbox_consumer c" +
+                        " where m.meber_id > ? and m.meber_id <= ? and m.created_date < ?", // 노드마다 한 행
+                consumerRegistry.getNodeId(), Timestamp.valueOf(LocalDateTime.now()), fromId, toId, before);
+        jdbcTemplate.update("delete from member where meber_id > ? and meber_id <= ? and created_date < ?",
+                fromId, toId, before);
+
+        teamIds.forEach(teamStatisticsService::refresh); // 팀 통계도 같은 트랜잭션에서 맞춘다
+        memberAgeIndexService.ifAvailable(service -> ids.forEach(service::memberRemoved));
+        return ids;
+    }
+}
@@ -0,0 +1,37 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.snapshot.ReferenceDataCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MemberLookupService {
+    //username 조회: ReferenceDataCache의 username -> id 인덱스가 있으면 id로 조회(2차 캐시/pk multi-load),
+    //없으면(스냅샷 없음, 회원 변경 이벤트로 버려짐) username 쿼리(쿼리 캐시)로 조회한다.
+
+    private final MemberRepository memberRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    public List<Member> findByUsername(String username) {
+        long[] ids = referenceDataCache.getMemberIds(username);
+        if (ids == null) {
+            return memberRepository.findByUsername(username);
+        }
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        return memberRepository.findAllInOrder(idList).stream()
+                .filter(Objects::nonNull) // 이벤트가 도착하기 전에 지워진 회원
+                .filter(member -> username.equals(member.getUsername())) // username이 바뀐 회원
+                .collect(Collectors.toList());
+    }
+}
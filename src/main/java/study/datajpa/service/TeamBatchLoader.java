@@ -0,0 +1,83 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.snapshot.ReferenceDataCache;
+import study.datajpa.snapshot.TeamSnapshot;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class TeamBatchLoader {
+    //회원 -> DTO 매핑 시 member.getTeam().getName()으로 회원마다 지연 로딩하지 않도록
+    //팀 id를 모아 findAllById 한번으로 가져오고 요청 동안 캐시한다.
+    //사용법: prime(members)로 한번에 로딩한 뒤 매퍼에서 getTeam/getTeamName 호출
+    //팀 이름은 ReferenceDataCache(시작 시 스냅샷으로 채움)에 있으면 DB를 거치지 않는다.
+
+    private final TeamRepository teamRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    private final Map<Long, Team> teams = new HashMap<>();
+    private final Set<Long> pending = new LinkedHashSet<>();
+
+    public void enqueue(Long teamId) {
+        if (teamId != null && !teams.containsKey(teamId)) {
+            pending.add(teamId);
+        }
+    }
+
+    public void prime(Collection<Member> members) {
+        for (Member member : members) {
+            Long teamId = member.getTeamId(); // 프록시는 초기화하지 않는다
+            if (teamId != null && referenceDataCache.getTeam(teamId) == null) {
+                enqueue(teamId);
+            }
+        }
+        dispatch();
+    }
+
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Team team : teamRepository.findAllById(pending)) {
+            teams.put(team.getId(), team);
+        }
+        pending.forEach(teamId -> teams.putIfAbsent(teamId, null)); // 없는 팀도 다시 조회하지 않는다
+        pending.clear();
+    }
+
+    public Team getTeam(Member member) {
+        Long teamId = member.getTeamId();
+        if (teamId == null) {
+            return null;
+        }
+        if (!teams.containsKey(teamId)) {
+            enqueue(teamId);
+            dispatch();
+        }
+        return teams.get(teamId);
+    }
+
+    public String getTeamName(Member member) {
+        Long teamId = member.getTeamId();
+        if (teamId != null && !teams.containsKey(teamId)) {
+            TeamSnapshot snapshot = referenceDataCache.getTeam(teamId);
+            if (snapshot != null) {
+                return snapshot.getName();
+            }
+        }
+        Team team = getTeam(member);
+        return team == null ? null : team.getName();
+    }
+}
@@ -0,0 +1,53 @@
+package study.datajpa.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class TeamStatisticsChanges {
+    //트랜잭션 안에서 쌓인 팀별 변경분, 커밋 직전에 한번에 반영한다
+
+    private final Map<Long, TeamChange> changes = new LinkedHashMap<>();
+
+    void added(Long teamId, int age) {
+        changes.computeIfAbsent(teamId, TeamChange::new).added(age);
+    }
+
+    void removed(Long teamId, int age) {
+        changes.computeIfAbsent(teamId, TeamChange::new).removed(age);
+    }
+
+    List<TeamChange> drain() {
+        List<TeamChange> drained = new ArrayList<>(changes.values());
+        changes.clear();
+        return drained;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class TeamChange {
+        private final Long teamId;
+        private long countDelta;
+        private long ageSumDelta;
+        private Integer addedMinAge;
+        private Integer addedMaxAge;
+        private boolean removed; // 빠진 나이가 있으면 min/max는 다시 계산해야 한다
+
+        void added(int age) {
+            countDelta++;
+            ageSumDelta += age;
+            addedMinAge = addedMinAge == null ? age : Math.min(addedMinAge, age);
+            addedMaxAge = addedMaxAge == null ? age : Math.max(addedMaxAge, age);
+        }
+
+        void removed(int age) {
+            countDelta--;
+            ageSumDelta -= age;
+            removed = true;
+        }
+    }
+}
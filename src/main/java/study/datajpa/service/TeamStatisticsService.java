@@ -0,0 +1,163 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TeamStatisticsService {
+    //팀별 회원 수, 나이 합계, 최소/최대 나이를 team_statistics 테이블에 유지한다.
+    //회원 저장/삭제/팀 변경은 TeamStatisticsListener가 모아두고, 같은 트랜잭션의 flush 이후 커밋 직전에 반영한다.
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager em;
+
+    public void memberAdded(Long teamId, int age) {
+        if (teamId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentChanges().added(teamId, age);
+        }
+    }
+
+    public void memberRemoved(Long teamId, int age) {
+        if (teamId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentChanges().removed(teamId, age);
+        }
+    }
+
+    /**
+     * 벌크 연산(update Member m set m.age = m.age + 1 where m.age >= :age) 직후에 호출
+     */
+    public void agesIncreased(int age) {
+        applyPendingChanges(); // 벌크 전에 flush 된 변경분은 올리기 전 나이 기준이므로 먼저 반영
+        jdbcTemplate.update("update team_statistics" +
+                        " set age_sum = age_sum + (select count(*) from member m where m.team_id = team_statistics.team_id and m.age > ?)," +
+                        " min_age = case when min_age >= ? then min_age + 1 else min_age end," +
+                        " max_age = case when max_age >= ? then max_age + 1 else max_age end",
+                age, age, age);
+    }
+
+    public void applyPendingChanges() {
+        TeamStatisticsChanges changes = (TeamStatisticsChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes != null) {
+            apply(changes);
+        }
+    }
+
+    @Transactional
+    public void refresh(Long teamId) {
+        //delete + insert 대신 upsert, 통계 행이 없던 팀도 한 문장으로 만든다
+        jdbcTemplate.update("merge into team_statistics (team_id, member_count, age_sum, min_age, max_age) key (team_id)" +
+                " select ?, count(m.meber_id), coalesce(sum(m.age), 0), min(m.age), max(m.age)" +
+                " from member m where m.team_id = ?", teamId, teamId);
+    }
+
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("delete from team_statistics");
+        jdbcTemplate.update("insert into team_statistics (team_id, member_count, age_sum, min_age, max_age)" +
+                " select m.team_id, count(m.meber_id), sum(m.age), min(m.age), max(m.age)" +
+                " from member m where m.team_id is not null group by m.team_id");
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findDrift() {
+        Map<Long, List<Object>> actual = new HashMap<>();
+        jdbcTemplate.query("select m.team_id, count(m.meber_id), sum(m.age), min(m.age), max(m.age)" +
+                        " from member m where m.team_id is not null group by m.team_id",
+                (RowCallbackHandler) rs -> {
+                    actual.put(rs.getLong(1), List.of(rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)));
+                });
+
+        List<Long> drifted = new ArrayList<>();
+        jdbcTemplate.query("select team_id, member_count, age_sum, min_age, max_age from team_statistics",
+                (RowCallbackHandler) rs -> {
+                    Long teamId = rs.getLong(1);
+                    List<Object> expected = actual.remove(teamId);
+                    if (expected == null) {
+                        if (rs.getLong(2) != 0) {
+                            drifted.add(teamId);
+                        }
+                        return;
+                    }
+                    List<Object> stored = List.of(rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5));
+                    if (!Objects.equals(expected, stored)) {
+                        drifted.add(teamId);
+                    }
+                });
+        drifted.addAll(actual.keySet()); // 통계 행이 아예 없는 팀
+        return drifted;
+    }
+
+    @Scheduled(cron = "${datajpa.team-statistics.verify-cron:0 0 4 * * *}")
+    @Transactional
+    public void verifyAndRepair() {
+        List<Long> drifted = findDrift();
+        if (!drifted.isEmpty()) {
+            log.warn("team statistics drift detected. teamIds={}", drifted);
+            drifted.forEach(this::refresh);
+        }
+    }
+
+    private TeamStatisticsChanges currentChanges() {
+        TeamStatisticsChanges changes = (TeamStatisticsChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            TeamStatisticsChanges newChanges = new TeamStatisticsChanges();
+            TransactionSynchronizationManager.bindResource(this, newChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TeamStatisticsService.this);
+                }
+            });
+            //커밋 시 flush가 끝난 뒤(배치 포함) 같은 커넥션으로 반영
+            em.unwrap(EventSource.class).getActionQueue()
+                    .registerProcess((BeforeTransactionCompletionProcess) session -> apply(newChanges));
+            changes = newChanges;
+        }
+        return changes;
+    }
+
+    private void apply(TeamStatisticsChanges changes) {
+        List<TeamStatisticsChanges.TeamChange> drained = changes.drain();
+        drained.sort(Comparator.comparing(TeamStatisticsChanges.TeamChange::getTeamId)); // 락 순서 고정 (데드락 방지)
+        for (TeamStatisticsChanges.TeamChange change : drained) {
+            //같은 팀 통계를 갱신하는 트랜잭션끼리는 팀 행 락으로 줄을 세운다.
+            //첫 회원을 동시에 넣는 두 트랜잭션이 둘 다 통계 행을 만들다가 키 중복으로 회원 저장까지 롤백되는 것을 막는다
+            jdbcTemplate.queryForList("select tead_id from team where tead_id = ? for update", Long.class, change.getTeamId());
+            if (change.isRemoved()) {
+                refresh(change.getTeamId());
+                continue;
+            }
+            int updated = jdbcTemplate.update("update team_statistics" +
+                            " set member_count = member_count + ?, age_sum = age_sum + ?," +
+                            " min_age = case when min_age is null or min_age > ? then ? else min_age end," +
+                            " max_age = case when max_age is null or max_age < ? then ? else max_age end" +
+                            " where team_id = ?",
+                    change.getCountDelta(), change.getAgeSumDelta(),
+                    change.getAddedMinAge(), change.getAddedMinAge(),
+                    change.getAddedMaxAge(), change.getAddedMaxAge(),
+                    change.getTeamId());
+            if (updated == 0) {
+                refresh(change.getTeamId());
+            }
+        }
+    }
+}
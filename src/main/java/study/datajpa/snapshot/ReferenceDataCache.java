@@ -0,0 +1,63 @@
+package study.datajpa.snapshot;
+
+import org.springframework.stereotype.Component;
+import study.datajpa.outbox.CacheInvalidationSubscriber;
+import study.datajpa.outbox.EntityChangeEvent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ReferenceDataCache implements CacheInvalidationSubscriber {
+    //팀 참조 데이터와 username -> 회원 id 인덱스. 스냅샷으로 채우고 outbox 이벤트로 무효화한다.
+
+    private final Map<Long, TeamSnapshot> teams = new ConcurrentHashMap<>();
+    private volatile Map<String, long[]> memberIdsByUsername; // null 이면 인덱스 없음
+
+    public TeamSnapshot getTeam(Long teamId) {
+        return teams.get(teamId);
+    }
+
+    /**
+     * 인덱스가 없으면 null (DB 조회 필요), 해당 username이 없으면 빈 배열
+     */
+    public long[] getMemberIds(String username) {
+        Map<String, long[]> index = memberIdsByUsername;
+        if (index == null) {
+            return null;
+        }
+        long[] ids = index.get(username);
+        return ids == null ? new long[0] : ids.clone();
+    }
+
+    public void putTeams(Collection<TeamSnapshot> snapshots) {
+        snapshots.forEach(team -> teams.put(team.getId(), team));
+    }
+
+    public void putMemberIndex(Map<String, long[]> index) {
+        memberIdsByUsername = Collections.unmodifiableMap(new HashMap<>(index));
+    }
+
+    public int getTeamCount() {
+        return teams.size();
+    }
+
+    @Override
+    public void onInvalidate(List<EntityChangeEvent> events) {
+        for (EntityChangeEvent event : events) {
+            if ("Team".equals(event.getAggregateType())) {
+                if (event.getAggregateId() == null) {
+                    teams.clear();
+                } else {
+                    teams.remove(event.getAggregateId());
+                }
+            } else if ("Member".equals(event.getAggregateType()) && event.getType().changesLookupKey()) {
+                memberIdsByUsername = null; // 이벤트에 username이 없으므로 인덱스 전체를 버린다
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package study.datajpa.snapshot;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class ReferenceDataSnapshot {
+    //파일 포맷 (big endian)
+    //header: magic, version, createdAt, teamCount, teamLastModified, memberCount, memberLastModified
+    //teams: size, (id, name)*
+    //username index: size, (username, idCount, id*)*
+    //문자열은 UTF-8 길이 + 바이트, null은 길이 -1
+
+    static final int MAGIC = 0x52445331; // RDS1
+    static final int VERSION = 1;
+
+    private final long createdAt;
+    private final long teamCount;
+    private final long teamLastModified; // lastModifiedDate 최대값 (epoch nanos), 없으면 -1
+    private final long memberCount;
+    private final long memberLastModified;
+    private final List<TeamSnapshot> teams;
+    private final Map<String, long[]> memberIdsByUsername;
+
+    public void writeTo(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(createdAt);
+            out.writeLong(teamCount);
+            out.writeLong(teamLastModified);
+            out.writeLong(memberCount);
+            out.writeLong(memberLastModified);
+
+            out.writeInt(teams.size());
+            for (TeamSnapshot team : teams) {
+                out.writeLong(team.getId());
+                writeString(out, team.getName());
+            }
+
+            out.writeInt(memberIdsByUsername.size());
+            for (Map.Entry<String, long[]> entry : memberIdsByUsername.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().length);
+                for (long id : entry.getValue()) {
+                    out.writeLong(id);
+                }
+            }
+        }
+        //읽는 쪽이 쓰다 만 파일을 매핑하지 않도록 교체는 원자적으로
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static ReferenceDataSnapshot readFrom(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    static ReferenceDataSnapshot read(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("unsupported reference data snapshot");
+        }
+        long createdAt = buffer.getLong();
+        long teamCount = buffer.getLong();
+        long teamLastModified = buffer.getLong();
+        long memberCount = buffer.getLong();
+        long memberLastModified = buffer.getLong();
+
+        int teamSize = buffer.getInt();
+        List<TeamSnapshot> teams = new ArrayList<>(teamSize);
+        for (int i = 0; i < teamSize; i++) {
+            long id = buffer.getLong();
+            teams.add(new TeamSnapshot(id, readString(buffer)));
+        }
+
+        int usernameSize = buffer.getInt();
+        Map<String, long[]> memberIdsByUsername = new HashMap<>(usernameSize * 4 / 3 + 1);
+        for (int i = 0; i < usernameSize; i++) {
+            String username = readString(buffer);
+            long[] ids = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(ids);
+            buffer.position(buffer.position() + ids.length * Long.BYTES);
+            memberIdsByUsername.put(username, ids);
+        }
+        return new ReferenceDataSnapshot(createdAt, teamCount, teamLastModified,
+                memberCount, memberLastModified, teams, memberIdsByUsername);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,119 @@
+package study.datajpa.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "datajpa.snapshot", name = "enabled", havingValue = "true")
+public class ReferenceDataSnapshotService {
+    //배포 직후 캐시가 비어 DB로 읽기가 몰리지 않도록
+    //주기적으로 팀/username 인덱스를 로컬 파일에 덤프하고, 시작할 때 매핑해서 캐시를 채운다.
+    //스냅샷의 건수와 lastModifiedDate 최대값이 DB와 다르면 그 부분은 버린다.
+
+    private final EntityManager em;
+    private final ReferenceDataCache cache;
+    private final Path path;
+
+    public ReferenceDataSnapshotService(EntityManager em,
+                                        ReferenceDataCache cache,
+                                        @Value("${datajpa.snapshot.path}") String path) {
+        this.em = em;
+        this.cache = cache;
+        this.path = Paths.get(path);
+    }
+
+    @Scheduled(initialDelayString = "${datajpa.snapshot.interval:PT5M}", fixedDelayString = "${datajpa.snapshot.interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void writeSnapshot() {
+        long[] teamVersion = version("select count(t), max(t.lastModifiedDate) from Team t");
+        List<TeamSnapshot> teams = em.createQuery("select t.id, t.name from Team t order by t.id", Object[].class)
+                .getResultList().stream()
+                .map(row -> new TeamSnapshot((Long) row[0], (String) row[1]))
+                .collect(Collectors.toList());
+
+        long[] memberVersion = version("select count(m), max(m.lastModifiedDate) from Member m");
+        Map<String, List<Long>> idsByUsername = new HashMap<>();
+        for (Object[] row : em.createQuery("select m.username, m.id from Member m", Object[].class).getResultList()) {
+            idsByUsername.computeIfAbsent((String) row[0], username -> new ArrayList<>()).add((Long) row[1]);
+        }
+        Map<String, long[]> memberIdsByUsername = new HashMap<>();
+        idsByUsername.forEach((username, ids) ->
+                memberIdsByUsername.put(username, ids.stream().mapToLong(Long::longValue).toArray()));
+
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(System.currentTimeMillis(),
+                teamVersion[0], teamVersion[1], memberVersion[0], memberVersion[1], teams, memberIdsByUsername);
+        try {
+            snapshot.writeTo(path);
+            log.info("reference data snapshot written. path={}, teams={}, usernames={}",
+                    path, teams.size(), memberIdsByUsername.size());
+        } catch (IOException e) {
+            log.warn("failed to write reference data snapshot. path={}", path, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!Files.exists(path)) {
+            log.info("no reference data snapshot. path={}", path);
+            return;
+        }
+        long start = System.nanoTime();
+        ReferenceDataSnapshot snapshot;
+        try {
+            snapshot = ReferenceDataSnapshot.readFrom(path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("unreadable reference data snapshot. path={}", path, e);
+            return;
+        }
+
+        long[] teamVersion = version("select count(t), max(t.lastModifiedDate) from Team t");
+        if (teamVersion[0] == snapshot.getTeamCount() && teamVersion[1] == snapshot.getTeamLastModified()) {
+            cache.putTeams(snapshot.getTeams());
+        } else {
+            log.info("team snapshot is stale. snapshot={}/{}, db={}/{}",
+                    snapshot.getTeamCount(), snapshot.getTeamLastModified(), teamVersion[0], teamVersion[1]);
+        }
+
+        long[] memberVersion = version("select count(m), max(m.lastModifiedDate) from Member m");
+        if (memberVersion[0] == snapshot.getMemberCount() && memberVersion[1] == snapshot.getMemberLastModified()) {
+            cache.putMemberIndex(snapshot.getMemberIdsByUsername());
+        } else {
+            log.info("member snapshot is stale. snapshot={}/{}, db={}/{}",
+                    snapshot.getMemberCount(), snapshot.getMemberLastModified(), memberVersion[0], memberVersion[1]);
+        }
+        log.info("reference data cache warmed in {}ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long[] version(String jpql) {
+        Object[] row = em.createQuery(jpql, Object[].class).getSingleResult();
+        return new long[]{(Long) row[0], toEpochNanos((LocalDateTime) row[1])};
+    }
+
+    private long toEpochNanos(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return -1;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+}
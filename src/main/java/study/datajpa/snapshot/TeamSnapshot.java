@@ -0,0 +1,13 @@
+package study.datajpa.snapshot;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class TeamSnapshot {
+    private final Long id;
+    private final String name;
+}
@@ -0,0 +1,18 @@
+package study.datajpa.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 핸들러가 필요한 로딩을 트랜잭션 안에서 끝낸다는 선언.
+ * OSIV를 끄면(datajpa.fetch-plan.required=true) 모든 핸들러가 선언해야 한다.
+ * <p>
+ * 그래프를 적용하지 않는 표시용 애너테이션이다. 실제 로딩은 리포지토리 메서드의 @EntityGraph / fetch join /
+ * TeamBatchLoader로 맞추고, 그 밖의 연관관계를 건드리면 OSIV 없이는 LazyInitializationException이 난다 (NoOsivProfileTest).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FetchPlan {
+}
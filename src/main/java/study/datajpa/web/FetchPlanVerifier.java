@@ -0,0 +1,56 @@
+package study.datajpa.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import study.datajpa.DataJpaApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "datajpa.fetch-plan", name = "required", havingValue = "true")
+public class FetchPlanVerifier {
+    //OSIV 없이 돌릴 때 시작 시점에 모든 핸들러가 @FetchPlan을 선언했는지 검사한다
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    public FetchPlanVerifier(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void verify() {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            HandlerMethod handlerMethod = entry.getValue();
+            if (!handlerMethod.getBeanType().getPackageName().startsWith(DataJpaApplication.class.getPackageName())) {
+                continue;
+            }
+            if (findFetchPlan(handlerMethod) == null) {
+                errors.add(entry.getKey() + " has no @FetchPlan");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("fetch plan verification failed: " + errors);
+        }
+        log.info("fetch plans verified for {} handlers", handlerMapping.getHandlerMethods().size());
+    }
+
+    private FetchPlan findFetchPlan(HandlerMethod handlerMethod) {
+        FetchPlan fetchPlan = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), FetchPlan.class);
+        if (fetchPlan != null) {
+            return fetchPlan;
+        }
+        return AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), FetchPlan.class);
+    }
+}
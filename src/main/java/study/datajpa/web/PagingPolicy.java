@@ -0,0 +1,25 @@
+package study.datajpa.web;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pageable 파라미터에 붙이는 엔드포인트별 페이징 정책.
+ * sorts에 없는 정렬 키, maxSize를 넘는 페이지 크기는 onViolation에 따라 거절(400)하거나 고쳐서 넘긴다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PagingPolicy {
+
+    int maxSize() default 100;
+
+    SortKey[] sorts() default {};
+
+    Violation onViolation() default Violation.REJECT;
+
+    enum Violation {
+        REJECT, REWRITE
+    }
+}
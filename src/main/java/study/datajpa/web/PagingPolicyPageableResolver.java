@@ -0,0 +1,88 @@
+package study.datajpa.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PagingPolicyPageableResolver implements HandlerMethodArgumentResolver {
+    //@PagingPolicy가 붙은 Pageable은 스프링 데이터 리졸버로 만든 뒤 정책을 적용한다
+
+    private final PageableHandlerMethodArgumentResolver delegate;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Pageable.class.equals(parameter.getParameterType())
+                && parameter.hasParameterAnnotation(PagingPolicy.class);
+    }
+
+    @Override
+    public Pageable resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                    NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Pageable pageable = delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        return apply(parameter, parameter.getParameterAnnotation(PagingPolicy.class), pageable);
+    }
+
+    private Pageable apply(MethodParameter parameter, PagingPolicy policy, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        boolean reject = policy.onViolation() == PagingPolicy.Violation.REJECT;
+
+        int size = pageable.getPageSize();
+        if (size > policy.maxSize()) {
+            if (reject) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "page size " + size + " exceeds " + policy.maxSize());
+            }
+            size = policy.maxSize();
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            SortKey sortKey = findSortKey(policy, order.getProperty());
+            if (sortKey == null) {
+                if (reject) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "sort property not allowed: " + order.getProperty());
+                }
+                continue; // 인덱스 없는 정렬은 버린다
+            }
+            //방향만 가져온다. ignoreCase(lower() 정렬)나 null 처리가 붙으면 인덱스를 못 탄다
+            orders.add(new Sort.Order(order.getDirection(), sortKey.property().isEmpty() ? sortKey.name() : sortKey.property()));
+        }
+        Sort sort = orders.isEmpty() ? defaultSort(parameter) : Sort.by(orders);
+        return PageRequest.of(pageable.getPageNumber(), size, sort);
+    }
+
+    private Sort defaultSort(MethodParameter parameter) {
+        //정렬이 하나도 안 남으면 페이지마다 순서가 달라져 행이 중복/누락되므로 @PageableDefault 정렬, 없으면 id로 고정한다
+        PageableDefault pageableDefault = parameter.getParameterAnnotation(PageableDefault.class);
+        if (pageableDefault != null && pageableDefault.sort().length > 0) {
+            return Sort.by(pageableDefault.direction(), pageableDefault.sort());
+        }
+        return Sort.by("id");
+    }
+
+    private SortKey findSortKey(PagingPolicy policy, String name) {
+        for (SortKey sortKey : policy.sorts()) {
+            if (sortKey.name().equals(name)) {
+                return sortKey;
+            }
+        }
+        return null;
+    }
+}
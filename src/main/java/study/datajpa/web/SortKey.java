@@ -0,0 +1,14 @@
+package study.datajpa.web;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SortKey {
+
+    String name(); // 클라이언트가 보내는 정렬 키
+
+    String property() default ""; // 인덱스가 있는 엔티티 속성, 비어있으면 name과 같다
+}
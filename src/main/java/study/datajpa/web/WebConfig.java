@@ -0,0 +1,24 @@
+package study.datajpa.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE) // 스프링 데이터의 Pageable 리졸버보다 먼저 등록되어야 한다
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final PageableHandlerMethodArgumentResolver pageableResolver;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new PagingPolicyPageableResolver(pageableResolver));
+    }
+}
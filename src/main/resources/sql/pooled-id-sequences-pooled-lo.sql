@@ -0,0 +1,14 @@
+-- 공유 hibernate_sequence -> 엔티티별 시퀀스(member_seq, team_seq) 전환 (H2), datajpa.id.optimizer: pooled-lo 용
+-- pooled 옵티마이저는 pooled-id-sequences-pooled.sql 을 쓴다.
+-- ddl-auto: create 가 아닌 DB에서 애플리케이션을 내린 상태로 실행한다.
+-- increment by 는 spring.jpa.properties.datajpa.id.increment_size 와 같아야 한다.
+
+create sequence if not exists member_seq start with 1 increment by 50;
+create sequence if not exists team_seq start with 1 increment by 50;
+
+-- pooled-lo는 읽은 값을 블록의 시작(lo)으로 쓴다: max+1 .. max+50
+alter sequence member_seq restart with (select coalesce(max(meber_id), 0) + 1 from member);
+alter sequence team_seq restart with (select coalesce(max(tead_id), 0) + 1 from team);
+
+-- 다른 엔티티가 쓰지 않으면 제거
+-- drop sequence if exists hibernate_sequence;
@@ -0,0 +1,15 @@
+-- 공유 hibernate_sequence -> 엔티티별 시퀀스(member_seq, team_seq) 전환 (H2), datajpa.id.optimizer: pooled 용
+-- pooled-lo 옵티마이저는 pooled-id-sequences-pooled-lo.sql 을 쓴다.
+-- ddl-auto: create 가 아닌 DB에서 애플리케이션을 내린 상태로 실행한다.
+-- increment by 와 아래 + 50 은 spring.jpa.properties.datajpa.id.increment_size 와 같아야 한다.
+
+create sequence if not exists member_seq start with 1 increment by 50;
+create sequence if not exists team_seq start with 1 increment by 50;
+
+-- pooled는 읽은 값을 블록의 끝(hi)으로 쓴다: max+1 .. max+50
+-- max+1 로 시작하면 max-48 .. max+1 을 나눠줘서 기존 id와 겹친다
+alter sequence member_seq restart with (select coalesce(max(meber_id), 0) + 50 from member);
+alter sequence team_seq restart with (select coalesce(max(tead_id), 0) + 50 from team);
+
+-- 다른 엔티티가 쓰지 않으면 제거
+-- drop sequence if exists hibernate_sequence;
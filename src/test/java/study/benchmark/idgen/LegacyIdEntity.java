@@ -0,0 +1,21 @@
+package study.benchmark.idgen;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+/**
+ * 변경 전 Member/Team과 같은 id 매핑 (@GeneratedValue -> hibernate_sequence, 할당 1).
+ * study.datajpa 밖에 두어 IdGenerationBenchmarkTest 컨텍스트에서만 스캔된다.
+ */
+@Entity
+public class LegacyIdEntity {
+
+    @Id @GeneratedValue
+    private Long id;
+    private String name = "legacy";
+
+    public Long getId() {
+        return id;
+    }
+}
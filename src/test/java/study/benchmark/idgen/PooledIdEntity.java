@@ -0,0 +1,25 @@
+package study.benchmark.idgen;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+
+/**
+ * LegacyIdEntity와 같은 모양에 엔티티별 pooled 시퀀스만 다르다.
+ */
+@Entity
+public class PooledIdEntity {
+
+    @Id @GeneratedValue(generator = "benchmark_seq")
+    @GenericGenerator(name = "benchmark_seq", strategy = "study.datajpa.entity.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "benchmark_seq"))
+    private Long id;
+    private String name = "pooled";
+
+    public Long getId() {
+        return id;
+    }
+}
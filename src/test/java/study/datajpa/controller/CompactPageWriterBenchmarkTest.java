@@ -0,0 +1,85 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 기본 포맷 vs compact 포맷 직렬화 CPU 시간 비교 (현재 스레드 CPU 시간).
+ * 기본 test 태스크에서는 빠진다. ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+class CompactPageWriterBenchmarkTest {
+
+    static final Logger log = LoggerFactory.getLogger(CompactPageWriterBenchmarkTest.class);
+    static final int ROUNDS = 2000;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    CompactPageWriter compactPageWriter = new CompactPageWriter(objectMapper);
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void cpuTimePerPage() throws Exception {
+        assertThat(threads.isCurrentThreadCpuTimeSupported()).isTrue();
+        Page<Member> page = createPage(100);
+        for (int i = 0; i < ROUNDS; i++) { // warm up
+            writePage(page);
+            writeCompact(page);
+        }
+
+        long pageStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            writePage(page);
+        }
+        long pageCpuNanos = threads.getCurrentThreadCpuTime() - pageStart;
+
+        long compactStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            writeCompact(page);
+        }
+        long compactCpuNanos = threads.getCurrentThreadCpuTime() - compactStart;
+
+        log.info("page format: {} bytes, {} us cpu/page", writePage(page), pageCpuNanos / ROUNDS / 1000.0);
+        log.info("compact format: {} bytes, {} us cpu/page", writeCompact(page), compactCpuNanos / ROUNDS / 1000.0);
+    }
+
+    private int writePage(Page<Member> page) throws Exception {
+        return objectMapper.writeValueAsBytes(page.map(this::toDto)).length;
+    }
+
+    private int writeCompact(Page<Member> page) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compactPageWriter.write(page, this::toDto, out);
+        return out.size();
+    }
+
+    private Page<Member> createPage(int size) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Member member = new Member("member" + i, 10);
+            member.setId((long) i);
+            members.add(member);
+        }
+        return new PageImpl<>(members, PageRequest.of(0, size, Sort.by("username")), 1000);
+    }
+
+    private MemberDto toDto(Member member) {
+        return new MemberDto(member.getId(), member.getUsername(), null);
+    }
+}
@@ -0,0 +1,76 @@
+package study.datajpa.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactPageWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    CompactPageWriter compactPageWriter = new CompactPageWriter(objectMapper);
+
+    @Test
+    public void compactFormat() throws Exception {
+        //given
+        Page<Member> page = createPage(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        //when
+        compactPageWriter.write(page, this::toDto, out);
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        //then
+        assertThat(json.get("content").size()).isEqualTo(5);
+        assertThat(json.get("content").get(0).get("userName").asText()).isEqualTo("member0");
+        assertThat(json.get("page").asInt()).isEqualTo(0);
+        assertThat(json.get("size").asInt()).isEqualTo(5);
+        assertThat(json.get("totalElements").asLong()).isEqualTo(1000);
+        assertThat(json.get("totalPages").asInt()).isEqualTo(200);
+        assertThat(json.has("pageable")).isFalse();
+    }
+
+    @Test
+    public void compactIsSmallerThanPageFormat() throws Exception {
+        //given
+        Page<Member> page = createPage(100);
+        //when
+        int pageBytes = writePage(page);
+        int compactBytes = writeCompact(page);
+        //then
+        assertThat(compactBytes).isLessThan(pageBytes);
+    }
+
+    private int writePage(Page<Member> page) throws Exception {
+        return objectMapper.writeValueAsBytes(page.map(this::toDto)).length;
+    }
+
+    private int writeCompact(Page<Member> page) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compactPageWriter.write(page, this::toDto, out);
+        return out.size();
+    }
+
+    private Page<Member> createPage(int size) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Member member = new Member("member" + i, 10);
+            member.setId((long) i);
+            members.add(member);
+        }
+        return new PageImpl<>(members, PageRequest.of(0, size, Sort.by("username")), 1000);
+    }
+
+    private MemberDto toDto(Member member) {
+        return new MemberDto(member.getId(), member.getUsername(), null);
+    }
+}
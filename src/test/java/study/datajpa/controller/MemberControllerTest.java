@@ -0,0 +1,45 @@
+package study.datajpa.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    public void 조회조건은하나만() throws Exception {
+        //given
+        Member member = memberRepository.save(new Member("paramMember", 10));
+
+        //when then
+        mockMvc.perform(get("/members").param("ids", String.valueOf(member.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members[0].userName").value("paramMember"));
+        mockMvc.perform(get("/members").param("username", "paramMember"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userName").value("paramMember"));
+        mockMvc.perform(get("/members").param("format", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray());
+
+        mockMvc.perform(get("/members").param("ids", String.valueOf(member.getId())).param("format", "compact"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members").param("username", "paramMember").param("format", "compact"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members").param("ids", String.valueOf(member.getId())).param("username", "paramMember"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.controller;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.web.FetchPlanVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("no-osiv")
+class NoOsivProfileTest {
+    //OSIV 없이 핸들러가 선언한 로딩(@FetchPlan + TeamBatchLoader)만으로 응답이 만들어지는지 확인
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired FetchPlanVerifier fetchPlanVerifier; // datajpa.fetch-plan.required=true 이면 등록되고 기동 시 검증한다
+
+    @Test
+    public void 팀이름은배치로더로() throws Exception {
+        //given
+        Team team = teamRepository.save(new Team("noOsivTeam"));
+        Member member1 = memberRepository.save(new Member("noOsiv1", 10, team));
+        Member member2 = memberRepository.save(new Member("noOsiv2", 20, team));
+
+        //when then
+        mockMvc.perform(get("/members").param("ids", member2.getId() + "," + member1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Persistence-Statements")) // 이 프로파일은 로그만
+                .andExpect(jsonPath("$.members[0].userName").value("noOsiv2"))
+                .andExpect(jsonPath("$.members[0].teamName").value("noOsivTeam"))
+                .andExpect(jsonPath("$.members[1].teamName").value("noOsivTeam"));
+        mockMvc.perform(get("/members").param("size", "5"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/members").param("format", "compact").param("size", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void 선언밖의지연로딩은실패() throws Exception {
+        //@FetchPlan은 표시일 뿐 로딩하지 않는다. 트랜잭션 밖에서 프록시를 건드리면 OSIV가 없으므로 예외
+        Team team = teamRepository.save(new Team("lazyTeam"));
+        Member saved = memberRepository.save(new Member("lazyMember", 10, team));
+
+        Member member = memberRepository.findById(saved.getId()).get();
+
+        assertThat(fetchPlanVerifier).isNotNull();
+        assertThatThrownBy(() -> member.getTeam().getName()).isInstanceOf(LazyInitializationException.class);
+    }
+}
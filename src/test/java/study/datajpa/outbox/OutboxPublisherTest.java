@@ -0,0 +1,114 @@
+package study.datajpa.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OutboxPublisherTest {
+
+    @Autowired OutboxPublisher outboxPublisher;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired RecordingSubscriber recordingSubscriber;
+    @Autowired OutboxConsumerRegistry consumerRegistry;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void publishMemberChanges() throws Exception {
+        //given
+        consumerRegistry.heartbeat(); // 이 노드 등록
+        Member member = memberRepository.save(new Member("outboxMember", 10));
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(10));
+        //when
+        outboxPublisher.publishPending();
+        //then
+        assertThat(recordingSubscriber.events).anySatisfy(event -> {
+            assertThat(event.getAggregateType()).isEqualTo("Member");
+            assertThat(event.getAggregateId()).isEqualTo(member.getId());
+            assertThat(event.getType()).isEqualTo(EntityChangeType.CREATED);
+        });
+        assertThat(recordingSubscriber.events).anySatisfy(event -> {
+            assertThat(event.getAggregateId()).isNull();
+            assertThat(event.getType()).isEqualTo(EntityChangeType.BULK_UPDATED);
+        });
+    }
+
+    @Test
+    public void username수정만조회키변경() throws Exception {
+        //given
+        consumerRegistry.heartbeat();
+        Member member = memberRepository.save(new Member("outboxMember3", 10));
+        transactionTemplate.executeWithoutResult(status -> memberRepository.findById(member.getId()).get().setAge(20));
+        transactionTemplate.executeWithoutResult(status -> memberRepository.findById(member.getId()).get().setUsername("outboxMember4"));
+
+        //when
+        outboxPublisher.publishPending();
+
+        //then
+        List<EntityChangeType> types = recordingSubscriber.events.stream()
+                .filter(event -> member.getId().equals(event.getAggregateId()))
+                .map(EntityChangeEvent::getType)
+                .collect(Collectors.toList());
+        assertThat(types).containsExactly(EntityChangeType.CREATED, EntityChangeType.UPDATED, EntityChangeType.KEY_CHANGED);
+        assertThat(recordingSubscriber.events)
+                .filteredOn(event -> member.getId().equals(event.getAggregateId()))
+                .allSatisfy(event -> assertThat(event.getOriginNodeId()).isEqualTo(consumerRegistry.getNodeId()));
+    }
+
+    @Test
+    public void 다른노드몫은남긴다() throws Exception {
+        //given
+        consumerRegistry.heartbeat();
+        jdbcTemplate.update("merge into outbox_consumer (node_id, last_seen) key (node_id) values ('otherNode', ?)",
+                Timestamp.valueOf(LocalDateTime.now()));
+        Member member = memberRepository.save(new Member("outboxMember2", 10));
+
+        //when
+        outboxPublisher.publishPending();
+
+        //then
+        assertThat(recordingSubscriber.events).anySatisfy(event -> assertThat(event.getAggregateId()).isEqualTo(member.getId()));
+        Long otherNodeEvents = jdbcTemplate.queryForObject(
+                "select count(*) from outbox_event where consumer_id = 'otherNode' and aggregate_id = ?", Long.class, member.getId());
+        Long myEvents = jdbcTemplate.queryForObject(
+                "select count(*) from outbox_event where consumer_id = ? and aggregate_id = ?", Long.class,
+                consumerRegistry.getNodeId(), member.getId());
+        assertThat(otherNodeEvents).isEqualTo(1);
+        assertThat(myEvents).isEqualTo(0);
+
+        jdbcTemplate.update("delete from outbox_event where consumer_id = 'otherNode'");
+        jdbcTemplate.update("delete from outbox_consumer where node_id = 'otherNode'");
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements CacheInvalidationSubscriber {
+        final List<EntityChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onInvalidate(List<EntityChangeEvent> events) {
+            this.events.addAll(events);
+        }
+    }
+}
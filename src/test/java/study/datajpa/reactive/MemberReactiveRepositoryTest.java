@@ -0,0 +1,45 @@
+package study.datajpa.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MemberReactiveRepositoryTest {
+    //R2DBC는 별도 커넥션이라 JPA 쓰기가 커밋된 뒤에 읽어야 한다 (@Transactional 사용 안함)
+
+    @Autowired MemberReactiveRepository memberReactiveRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+
+    @Test
+    public void JPA로쓰고리액티브로읽기() throws Exception {
+        //given
+        Team team = teamRepository.save(new Team("reactiveTeam"));
+        Member member1 = memberRepository.save(new Member("reactive1", 10, team));
+        Member member2 = memberRepository.save(new Member("reactive2", 20, team));
+        Member member3 = memberRepository.save(new Member("reactive3", 30));
+
+        //when
+        List<MemberDto> byTeam = memberReactiveRepository.findByTeamId(team.getId()).collectList().block();
+        List<MemberDto> page = memberReactiveRepository.findAll(member1.getId() - 1, 2).collectList().block();
+        MemberDto noTeam = memberReactiveRepository.findById(member3.getId()).block();
+
+        //then
+        assertThat(byTeam).extracting("userName").containsExactly("reactive1", "reactive2");
+        assertThat(byTeam).extracting("teamName").containsOnly("reactiveTeam");
+        assertThat(page).extracting("id").containsExactly(member1.getId(), member2.getId());
+        assertThat(noTeam.getUserName()).isEqualTo("reactive3");
+        assertThat(noTeam.getTeamName()).isNull();
+        assertThat(memberReactiveRepository.findById(-1L).blockOptional()).isEmpty();
+    }
+}
@@ -0,0 +1,134 @@
+package study.datajpa.reactive;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 블로킹(/members) vs 리액티브(/reactive/members) 목록 조회를 같은 동시 요청 수로 비교한다.
+ * 톰캣 스레드를 적게 잡아 요청당 스레드를 점유하는 쪽이 먼저 막히도록 한다.
+ * 기본 test 태스크에서는 빠진다. ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=20",
+        "spring.r2dbc.pool.max-size=10",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "logging.level.org.hibernate.SQL=info"
+})
+class ReactiveVsBlockingBenchmarkTest {
+
+    static final int CONCURRENCY = 200;
+    static final int REQUESTS = 2000;
+    static final int PAGE_SIZE = 100;
+
+    @LocalServerPort int port;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+
+    HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void compare() throws Exception {
+        Team team = teamRepository.save(new Team("benchmarkTeam"));
+        List<Member> members = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new Member("benchmark" + i, i, team))
+                .collect(Collectors.toList());
+        memberRepository.saveAll(members);
+
+        String blocking = "/members?size=" + PAGE_SIZE + "&sort=id";
+        String reactive = "/reactive/members?limit=" + PAGE_SIZE;
+        run(blocking, REQUESTS / 10); // 워밍업
+        run(reactive, REQUESTS / 10);
+
+        print("blocking " + blocking, run(blocking, REQUESTS));
+        print("reactive " + reactive, run(reactive, REQUESTS));
+    }
+
+    private Result run(String path, int requests) throws Exception {
+        URI uri = URI.create("http://localhost:" + port + path);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicInteger peakThreads = new AtomicInteger(threads.getThreadCount());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            clients.add(CompletableFuture.runAsync(() -> {
+                int request;
+                while ((request = next.getAndIncrement()) < requests) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    latencies[request] = System.nanoTime() - requestStart;
+                }
+            }, workers));
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        long elapsed = System.nanoTime() - start;
+        sampler.shutdownNow();
+        workers.shutdown();
+
+        Arrays.sort(latencies);
+        return new Result(requests, elapsed, latencies[requests / 2], latencies[requests * 99 / 100], peakThreads.get());
+    }
+
+    private void print(String name, Result result) {
+        System.out.printf("%s: %d requests, concurrency %d, %d req/s, p50 %dms, p99 %dms, peak JVM threads %d%n",
+                name, result.requests, CONCURRENCY,
+                result.requests * 1_000_000_000L / result.elapsedNanos,
+                result.p50 / 1_000_000, result.p99 / 1_000_000, result.peakThreads);
+    }
+
+    static class Result {
+        final int requests;
+        final long elapsedNanos;
+        final long p50;
+        final long p99;
+        final int peakThreads;
+
+        Result(int requests, long elapsedNanos, long p50, long p99, int peakThreads) {
+            this.requests = requests;
+            this.elapsedNanos = elapsedNanos;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.peakThreads = peakThreads;
+        }
+    }
+}
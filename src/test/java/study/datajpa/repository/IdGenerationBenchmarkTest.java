@@ -0,0 +1,105 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.benchmark.idgen.LegacyIdEntity;
+import study.benchmark.idgen.PooledIdEntity;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 test 태스크에서는 빠진다. ./gradlew benchmark 로 실행
+ * 모든 저장은 flush 후 롤백하므로 공유 테스트 DB에 행이 남지 않는다 (시퀀스 값만 증가)
+ */
+@Tag("benchmark")
+@SpringBootTest
+class IdGenerationBenchmarkTest {
+
+    static final int COUNT = 5000;
+    static final int WARMUP = 500;
+
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void legacyVsPooled() throws Exception {
+        //이전 매핑(@GeneratedValue -> hibernate_sequence, 할당 1)과 엔티티별 pooled 시퀀스를 같은 모양의 엔티티로 비교
+        persistAndRollback(WARMUP, LegacyIdEntity::new);
+        persistAndRollback(WARMUP, PooledIdEntity::new);
+
+        long legacy = persistAndRollback(COUNT, LegacyIdEntity::new);
+        long pooled = persistAndRollback(COUNT, PooledIdEntity::new);
+
+        print("hibernate_sequence (legacy)", legacy);
+        print("pooled sequence", pooled);
+    }
+
+    @Test
+    public void saveLoop() throws Exception {
+        long elapsed = inRolledBackTransaction(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                memberJpaRepository.save(new Member("saveLoop" + i, i % 100));
+            }
+        });
+        print("MemberJpaRepository.save loop", elapsed);
+    }
+
+    @Test
+    public void saveAll() throws Exception {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            members.add(new Member("saveAll" + i, i % 100));
+        }
+        List<Member> saved = new ArrayList<>();
+        long elapsed = inRolledBackTransaction(() -> saved.addAll(memberRepository.saveAll(members)));
+        print("MemberRepository.saveAll", elapsed);
+
+        assertThat(saved).extracting(Member::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    private long persistAndRollback(int count, Supplier<Object> entity) {
+        return inRolledBackTransaction(() -> {
+            for (int i = 0; i < count; i++) {
+                em.persist(entity.get());
+            }
+        });
+    }
+
+    private long inRolledBackTransaction(Runnable work) {
+        long[] elapsed = new long[1];
+        transactionTemplate.executeWithoutResult(status -> {
+            long start = System.nanoTime();
+            work.run();
+            em.flush(); // insert까지 측정
+            elapsed[0] = System.nanoTime() - start;
+            status.setRollbackOnly();
+        });
+        return elapsed[0];
+    }
+
+    private void print(String name, long elapsedNanos) {
+        long elapsedMillis = Math.max(elapsedNanos / 1_000_000, 1);
+        System.out.println(name + ": " + COUNT + " persists, " + elapsedMillis + "ms, "
+                + (COUNT * 1000L / elapsedMillis) + " persists/s");
+    }
+
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {DataJpaApplication.class, LegacyIdEntity.class}) // 비교용 엔티티는 이 컨텍스트에만
+    static class BenchmarkEntities {
+    }
+}
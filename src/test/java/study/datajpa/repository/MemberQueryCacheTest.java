@@ -0,0 +1,77 @@
+package study.datajpa.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.persistence-metrics.enabled=true") // hibernate 통계
+class MemberQueryCacheTest {
+    //쿼리 캐시는 커밋된 결과만 공유하므로 테스트 트랜잭션 없이 호출마다 커밋한다
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManagerFactory emf;
+
+    @Test
+    public void username조회는쿼리캐시() throws Exception {
+        //given
+        memberRepository.save(new Member("cachedMember", 10));
+        CacheRegionStatistics region = regionStatistics();
+        long hitBefore = hitCount(region);
+
+        //when
+        memberRepository.findByUsername("cachedMember");
+        List<Member> result = memberRepository.findByUsername("cachedMember");
+
+        //then
+        assertThat(result).hasSize(1);
+        assertThat(hitCount(regionStatistics())).isGreaterThan(hitBefore);
+    }
+
+    @Test
+    public void 벌크연산후에는다시조회() throws Exception {
+        //given
+        memberRepository.save(new Member("bulkCachedMember", 900));
+        assertThat(memberRepository.findMemberByUsername("bulkCachedMember").getAge()).isEqualTo(900);
+
+        //when
+        transactionTemplate.execute(status -> memberRepository.bulkAgePlus(900));
+
+        //then
+        assertThat(memberRepository.findMemberByUsername("bulkCachedMember").getAge()).isEqualTo(901);
+    }
+
+    @Test
+    public void 저장삭제후에는다시조회() throws Exception {
+        //given
+        Member member = memberRepository.save(new Member("savedCachedMember", 10));
+        assertThat(memberRepository.findOptionalByUsername("savedCachedMember")).isPresent();
+
+        //when
+        memberRepository.delete(member);
+
+        //then
+        assertThat(memberRepository.findOptionalByUsername("savedCachedMember")).isEmpty();
+        memberRepository.save(new Member("savedCachedMember", 20));
+        assertThat(memberRepository.findOptionalByUsername("savedCachedMember").get().getAge()).isEqualTo(20);
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        return statistics.getCacheRegionStatistics(Member.USERNAME_QUERY_CACHE_REGION);
+    }
+
+    private long hitCount(CacheRegionStatistics region) {
+        return region == null ? 0 : region.getHitCount();
+    }
+}
@@ -248,4 +248,26 @@ class MemberRepositoryTest {
 
         //then
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findAllInOrder() throws Exception {
+        //given
+        Member member1 = memberRepository.save(new Member("member1", 10));
+        Member member2 = memberRepository.save(new Member("member2", 20));
+        Member member3 = memberRepository.save(new Member("member3", 30));
+        em.flush();
+        em.clear();
+        Member managed = memberRepository.findById(member2.getId()).get(); // 영속성 컨텍스트에 있는 회원
+
+        //when
+        List<Member> result = memberRepository.findAllInOrder(
+                Arrays.asList(member3.getId(), -1L, member1.getId(), member2.getId()));
+
+        //then
+        assertThat(result).hasSize(4);
+        assertThat(result.get(0).getUsername()).isEqualTo("member3");
+        assertThat(result.get(1)).isNull();
+        assertThat(result.get(2).getUsername()).isEqualTo("member1");
+        assertThat(result.get(3)).isSameAs(managed);
+    }
+}
@@ -0,0 +1,97 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberAgeIndexTest {
+
+    @Test
+    public void 나이별조회() throws Exception {
+        //given
+        MemberAgeIndex index = new MemberAgeIndex(4);
+        index.put(1L, 10);
+        index.put(2L, 20);
+        index.put(3L, 20);
+        index.put(4L, 30);
+
+        //when
+        int[] histogram = index.histogram();
+
+        //then
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.count(20)).isEqualTo(2);
+        assertThat(index.countBetween(15, 100)).isEqualTo(3);
+        assertThat(index.ids(20)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(histogram).hasSize(31);
+        assertThat(histogram[10]).isEqualTo(1);
+        assertThat(histogram[30]).isEqualTo(1);
+    }
+
+    @Test
+    public void 나이변경과삭제() throws Exception {
+        //given
+        MemberAgeIndex index = new MemberAgeIndex(4);
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, 20);
+        }
+
+        //when
+        index.put(1L, 21);
+        index.remove(2L);
+        index.remove(2L);
+        index.remove(999L);
+
+        //then
+        assertThat(index.size()).isEqualTo(99);
+        assertThat(index.count(20)).isEqualTo(98);
+        assertThat(index.ids(20)).doesNotContain(1L, 2L);
+        assertThat(index.ids(21)).containsExactly(1L);
+    }
+
+    @Test
+    public void bulkAgePlus와같은결과() throws Exception {
+        //given
+        MemberAgeIndex index = new MemberAgeIndex();
+        index.put(1L, 10);
+        index.put(2L, 19);
+        index.put(3L, 20);
+        index.put(4L, 21);
+
+        //when
+        index.incrementAgesFrom(20);
+
+        //then
+        assertThat(index.ids(19)).containsExactly(2L);
+        assertThat(index.count(20)).isEqualTo(0);
+        assertThat(index.ids(21)).containsExactly(3L);
+        assertThat(index.ids(22)).containsExactly(4L);
+
+        index.remove(4L); // 옮겨진 뒤에도 위치가 맞아야 한다
+        assertThat(index.count(22)).isEqualTo(0);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void 음수나이는버킷에넣지않는다() throws Exception {
+        //given
+        MemberAgeIndex index = new MemberAgeIndex();
+        index.put(1L, 10);
+
+        //when
+        index.put(2L, -5);
+        index.put(1L, -1);
+
+        //then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.outOfRangeCount()).isEqualTo(2);
+        assertThat(index.count(10)).isEqualTo(0);
+        assertThat(index.count(-5)).isEqualTo(0);
+        assertThat(index.histogram()).isEmpty();
+
+        index.put(1L, 20); // 다시 0 이상으로
+        index.remove(2L);
+        assertThat(index.outOfRangeCount()).isEqualTo(0);
+        assertThat(index.ids(20)).containsExactly(1L);
+    }
+}
@@ -0,0 +1,87 @@
+package study.datajpa.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.snapshot.ReferenceDataCache;
+import study.datajpa.snapshot.TeamSnapshot;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "datajpa.persistence-metrics.enabled=true") // hibernate 통계
+@Transactional
+@Rollback(false)
+class TeamBatchLoaderTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void 팀은한번에조회() throws Exception {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        List<Long> ids = Stream.of(
+                        new Member("member1", 10, teamA),
+                        new Member("member2", 20, teamA),
+                        new Member("member3", 30, teamB),
+                        new Member("member4", 40, teamB),
+                        new Member("member5", 50))
+                .map(member -> memberRepository.save(member).getId())
+                .collect(Collectors.toList());
+        em.flush();
+        em.clear();
+        List<Member> members = ids.stream()
+                .map(id -> memberRepository.findById(id).get())
+                .collect(Collectors.toList());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        //when
+        TeamBatchLoader teamBatchLoader = new TeamBatchLoader(teamRepository, new ReferenceDataCache());
+        teamBatchLoader.prime(members);
+        List<String> teamNames = members.stream()
+                .map(teamBatchLoader::getTeamName)
+                .collect(Collectors.toList());
+        //then
+        assertThat(teamNames).containsExactly("teamA", "teamA", "teamB", "teamB", null);
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(1);
+    }
+
+    @Test
+    public void 스냅샷에있는팀은조회하지않는다() throws Exception {
+        //given
+        Team team = teamRepository.save(new Team("snapshotTeam"));
+        Member member = memberRepository.save(new Member("snapshotMember", 10, team));
+        em.flush();
+        em.clear();
+        Member findMember = memberRepository.findById(member.getId()).get();
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache();
+        referenceDataCache.putTeams(List.of(new TeamSnapshot(team.getId(), "snapshotTeam")));
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        //when
+        TeamBatchLoader teamBatchLoader = new TeamBatchLoader(teamRepository, referenceDataCache);
+        teamBatchLoader.prime(List.of(findMember));
+        String teamName = teamBatchLoader.getTeamName(findMember);
+        //then
+        assertThat(teamName).isEqualTo("snapshotTeam");
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(0);
+    }
+}
@@ -0,0 +1,78 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.entity.TeamStatistics;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.repository.TeamStatisticsRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@Rollback(false)
+class TeamStatisticsServiceTest {
+
+    @Autowired TeamStatisticsService teamStatisticsService;
+    @Autowired TeamStatisticsRepository teamStatisticsRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void 팀통계유지() throws Exception {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 20, teamA));
+        Member member3 = memberRepository.save(new Member("member3", 30, teamB));
+        flushStatistics();
+
+        //then
+        TeamStatistics statisticsA = teamStatisticsRepository.findById(teamA.getId()).get();
+        assertThat(statisticsA.getMemberCount()).isEqualTo(2);
+        assertThat(statisticsA.getAgeSum()).isEqualTo(30);
+        assertThat(statisticsA.getMinAge()).isEqualTo(10);
+        assertThat(statisticsA.getMaxAge()).isEqualTo(20);
+
+        //when 팀 변경
+        Member findMember3 = memberRepository.findById(member3.getId()).get();
+        findMember3.changeTeam(teamRepository.findById(teamA.getId()).get());
+        flushStatistics();
+
+        //then
+        statisticsA = teamStatisticsRepository.findById(teamA.getId()).get();
+        TeamStatistics statisticsB = teamStatisticsRepository.findById(teamB.getId()).get();
+        assertThat(statisticsA.getMemberCount()).isEqualTo(3);
+        assertThat(statisticsA.getAgeSum()).isEqualTo(60);
+        assertThat(statisticsA.getMaxAge()).isEqualTo(30);
+        assertThat(statisticsB.getMemberCount()).isEqualTo(0);
+        assertThat(statisticsB.getMaxAge()).isNull();
+
+        //when 벌크 연산
+        memberRepository.bulkAgePlus(20);
+
+        //then
+        statisticsA = teamStatisticsRepository.findById(teamA.getId()).get();
+        assertThat(statisticsA.getAgeSum()).isEqualTo(62);
+        assertThat(statisticsA.getMinAge()).isEqualTo(10);
+        assertThat(statisticsA.getMaxAge()).isEqualTo(31);
+        assertThat(teamStatisticsService.findDrift()).doesNotContain(teamA.getId(), teamB.getId());
+    }
+
+    private void flushStatistics() {
+        em.flush();
+        teamStatisticsService.applyPendingChanges();
+        em.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package study.datajpa.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceDataSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void 쓰고매핑해서읽기() throws Exception {
+        //given
+        Map<String, long[]> index = new HashMap<>();
+        index.put("member1", new long[]{1L, 7L});
+        index.put("회원2", new long[]{2L});
+        index.put(null, new long[]{3L});
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(100L, 2, 200L, 4, 300L,
+                List.of(new TeamSnapshot(10L, "teamA"), new TeamSnapshot(11L, null)), index);
+        Path path = directory.resolve("reference-data.snapshot");
+        //when
+        snapshot.writeTo(path);
+        ReferenceDataSnapshot read = ReferenceDataSnapshot.readFrom(path);
+        //then
+        assertThat(read.getTeamCount()).isEqualTo(2);
+        assertThat(read.getTeamLastModified()).isEqualTo(200L);
+        assertThat(read.getMemberCount()).isEqualTo(4);
+        assertThat(read.getMemberLastModified()).isEqualTo(300L);
+        assertThat(read.getTeams()).extracting(TeamSnapshot::getName).containsExactly("teamA", null);
+        assertThat(read.getMemberIdsByUsername().get("member1")).containsExactly(1L, 7L);
+        assertThat(read.getMemberIdsByUsername().get("회원2")).containsExactly(2L);
+        assertThat(read.getMemberIdsByUsername().get(null)).containsExactly(3L);
+    }
+}
@@ -0,0 +1,115 @@
+package study.datajpa.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PagingPolicyPageableResolverTest {
+
+    PagingPolicyPageableResolver resolver = new PagingPolicyPageableResolver(new PageableHandlerMethodArgumentResolver());
+
+    @Test
+    public void 허용된정렬은키를속성으로바꾼다() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("sort", "name,desc");
+        //when
+        Pageable pageable = resolve("reject", request);
+        //then
+        assertThat(pageable.getSort()).containsExactly(Sort.Order.desc("username"));
+    }
+
+    @Test
+    public void 정렬은방향만가져온다() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("sort", "name,desc,ignorecase");
+        //when
+        Pageable pageable = resolve("rewrite", request);
+        //then
+        Sort.Order order = pageable.getSort().getOrderFor("username");
+        assertThat(order).isEqualTo(Sort.Order.desc("username"));
+        assertThat(order.isIgnoreCase()).isFalse();
+        assertThat(order.getNullHandling()).isEqualTo(Sort.NullHandling.NATIVE);
+    }
+
+    @Test
+    public void 거절() throws Exception {
+        MockHttpServletRequest sizeRequest = new MockHttpServletRequest();
+        sizeRequest.addParameter("size", "500");
+        MockHttpServletRequest sortRequest = new MockHttpServletRequest();
+        sortRequest.addParameter("sort", "age,desc");
+
+        assertThatThrownBy(() -> resolve("reject", sizeRequest)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> resolve("reject", sortRequest)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    public void 재작성() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("size", "500");
+        request.addParameter("sort", "age,desc");
+        request.addParameter("sort", "name,asc");
+        //when
+        Pageable pageable = resolve("rewrite", request);
+        //then
+        assertThat(pageable.getPageSize()).isEqualTo(100);
+        assertThat(pageable.getSort()).containsExactly(Sort.Order.asc("username"));
+    }
+
+    @Test
+    public void 재작성후정렬이없으면기본정렬() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("sort", "age,desc");
+        //when
+        Pageable withDefault = resolve("rewriteWithDefaultSort", request);
+        Pageable withoutDefault = resolve("rewrite", request);
+        //then
+        assertThat(withDefault.getSort()).containsExactly(Sort.Order.asc("username"));
+        assertThat(withoutDefault.getSort()).containsExactly(Sort.Order.asc("id"));
+    }
+
+    @Test
+    public void 정책없는파라미터는지원하지않는다() throws Exception {
+        assertThat(resolver.supportsParameter(parameter("noPolicy"))).isFalse();
+        assertThat(resolver.supportsParameter(parameter("reject"))).isTrue();
+    }
+
+    private Pageable resolve(String methodName, MockHttpServletRequest request) throws Exception {
+        return resolver.resolveArgument(parameter(methodName), null, new ServletWebRequest(request), null);
+    }
+
+    private MethodParameter parameter(String methodName) throws Exception {
+        return new MethodParameter(Fixture.class.getMethod(methodName, Pageable.class), 0);
+    }
+
+    static class Fixture {
+        public void reject(@PageableDefault(size = 5) @PagingPolicy(maxSize = 100,
+                sorts = @SortKey(name = "name", property = "username")) Pageable pageable) {
+        }
+
+        public void rewrite(@PageableDefault(size = 5) @PagingPolicy(maxSize = 100,
+                sorts = @SortKey(name = "name", property = "username"),
+                onViolation = PagingPolicy.Violation.REWRITE) Pageable pageable) {
+        }
+
+        public void rewriteWithDefaultSort(@PageableDefault(size = 5, sort = "username") @PagingPolicy(maxSize = 100,
+                sorts = @SortKey(name = "name", property = "username"),
+                onViolation = PagingPolicy.Violation.REWRITE) Pageable pageable) {
+        }
+
+        public void noPolicy(Pageable pageable) {
+        }
+    }
+}